@@ -6,12 +6,14 @@ import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(scanBasePackages = {"com.fernirx.lms"})
 @EnableJpaRepositories(basePackages = "com.fernirx.lms")
 @EntityScan(basePackages = "com.fernirx.lms")
 @ConfigurationPropertiesScan("com.fernirx.lms")
 @EnableAsync
+@EnableScheduling
 public class LmsApplication {
 
     public static void main(String[] args) {
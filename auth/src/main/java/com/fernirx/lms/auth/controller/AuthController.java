@@ -9,14 +9,18 @@ import com.fernirx.lms.common.constants.ApiConstants;
 import com.fernirx.lms.common.constants.ApiMessages;
 import com.fernirx.lms.common.dtos.responses.SuccessResponse;
 import com.fernirx.lms.common.utils.ApiFormatter;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping(ApiConstants.AUTH_PATH)
 @AllArgsConstructor
@@ -24,12 +28,14 @@ public class AuthController {
     private final AuthService authService;
 
     @PostMapping(ApiConstants.LOGIN_PATH)
-    public ResponseEntity<SuccessResponse<JwtResponse>> login(@Valid @RequestBody LoginRequest loginRequest) {
-        JwtResponse jwtResponse = authService.login(loginRequest);
-        return ResponseEntity.ok(SuccessResponse.of(
-                ApiFormatter.userLoginSuccess(jwtResponse.getUsername()),
-                jwtResponse
-        ));
+    public CompletableFuture<ResponseEntity<SuccessResponse<JwtResponse>>> login(
+            @Valid @RequestBody LoginRequest loginRequest,
+            HttpServletRequest request) {
+        return authService.login(loginRequest, request.getRemoteAddr())
+                .thenApply(jwtResponse -> ResponseEntity.ok(SuccessResponse.of(
+                        ApiFormatter.userLoginSuccess(jwtResponse.getUsername()),
+                        jwtResponse
+                )));
     }
 
     @PostMapping(ApiConstants.REFRESH_TOKEN_PATH)
@@ -40,4 +46,17 @@ public class AuthController {
                 refreshTokenResponse
         ));
     }
+
+    @PostMapping(ApiConstants.LOGOUT_PATH)
+    public ResponseEntity<SuccessResponse<Void>> logout(
+            @Valid @RequestBody RefreshTokenRequest refreshTokenRequest,
+            @RequestHeader(value = ApiConstants.AUTHORIZATION_HEADER, required = false) String authorization) {
+        String accessToken = authorization != null && authorization.startsWith(ApiConstants.BEARER_PREFIX)
+                ? authorization.substring(ApiConstants.BEARER_PREFIX_LENGTH)
+                : null;
+        authService.logout(refreshTokenRequest, accessToken);
+        return ResponseEntity.ok(SuccessResponse.of(
+                ApiMessages.LOGOUT_SUCCESS
+        ));
+    }
 }
@@ -0,0 +1,30 @@
+package com.fernirx.lms.auth.controller;
+
+import com.fernirx.lms.common.constants.ApiConstants;
+import com.fernirx.lms.infrastructure.properties.JwtProperties;
+import com.fernirx.lms.infrastructure.security.JwtKeyRing;
+import lombok.AllArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Publishes the token verification keys so other services can verify our JWTs locally.
+ * The body is a plain JWK Set (RFC 7517) rather than a {@code SuccessResponse}, as JWKS clients expect.
+ */
+@RestController
+@AllArgsConstructor
+public class JwksController {
+    private final JwtKeyRing jwtKeyRing;
+    private final JwtProperties jwtProperties;
+
+    @GetMapping(ApiConstants.JWKS_PATH)
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(jwtProperties.getJwksMaxAge()).cachePublic())
+                .body(jwtKeyRing.jwks());
+    }
+}
@@ -9,6 +9,7 @@ import com.fernirx.lms.auth.service.PasswordService;
 import com.fernirx.lms.common.constants.ApiConstants;
 import com.fernirx.lms.common.constants.ApiMessages;
 import com.fernirx.lms.common.dtos.responses.SuccessResponse;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -24,16 +25,20 @@ public class PasswordController {
     private final PasswordService passwordService;
 
     @PostMapping(ApiConstants.FORGOT_PASSWORD_PATH)
-    public ResponseEntity<SuccessResponse<Void>> forgotPassword(@Valid @RequestBody ForgotPasswordRequest resetPasswordRequest) {
-        passwordService.forgotPassword(resetPasswordRequest);
+    public ResponseEntity<SuccessResponse<Void>> forgotPassword(
+            @Valid @RequestBody ForgotPasswordRequest resetPasswordRequest,
+            HttpServletRequest request) {
+        passwordService.forgotPassword(resetPasswordRequest, request.getRemoteAddr());
         return ResponseEntity.ok(SuccessResponse.of(
                 ApiMessages.RESET_PASSWORD_REQUEST_SUCCESS
         ));
     }
 
     @PostMapping(ApiConstants.RESEND_OTP_PATH)
-    public ResponseEntity<SuccessResponse<Void>> resendOtp(@Valid @RequestBody ResendOtpRequest resendOtpRequest) {
-        passwordService.resendOtp(resendOtpRequest);
+    public ResponseEntity<SuccessResponse<Void>> resendOtp(
+            @Valid @RequestBody ResendOtpRequest resendOtpRequest,
+            HttpServletRequest request) {
+        passwordService.resendOtp(resendOtpRequest, request.getRemoteAddr());
         return ResponseEntity.ok(SuccessResponse.of(
                 ApiMessages.RESEND_OTP_SUCCESS
         ));
@@ -1,24 +1,83 @@
 package com.fernirx.lms.auth.dto;
 
-import lombok.Builder;
-import lombok.Data;
+import com.fernirx.lms.common.constants.SecurityConstants;
 
 import java.time.Instant;
 
-@Data
-@Builder
-public class OTPData {
-    private String otp;
-    private Instant expireAt;
-    private Integer maxAttempts;
-    private Integer resendCount;
-    private Instant lastResendAt;
+/**
+ * Immutable OTP state for one email. Every change produces a new instance, which is swapped in atomically
+ * by {@code OtpService}, so concurrent requests never observe or overwrite a half-updated state.
+ * <p>
+ * Kept to four {@code int}s (one 32-byte object with compressed oops) because a password-reset wave can
+ * fill the cache: the code is stored as its numeric value, instants as unsigned epoch seconds, and the
+ * attempt and resend counters share one field.
+ */
+public record OTPData(
+        int code,
+        int expireAtEpochSecond,
+        int nextResendAtEpochSecond,
+        int counters
+) {
+    private static final int COUNTER_BITS = 16;
+    private static final int COUNTER_MASK = (1 << COUNTER_BITS) - 1;
 
-    public void incrementAttempts() {
-        this.maxAttempts++;
+    public static OTPData issued(int code, Instant expireAt, Instant nextResendAt) {
+        return new OTPData(code, toEpochSecond(expireAt), toEpochSecond(nextResendAt), 0);
     }
 
-    public void incrementResendCount() {
-        this.resendCount++;
+    /**
+     * The code as sent to the user, left-padded with zeros.
+     */
+    public String otp() {
+        String digits = Integer.toString(code);
+        return "0".repeat(Math.max(0, SecurityConstants.OTP_LENGTH - digits.length())) + digits;
+    }
+
+    public int attempts() {
+        return counters & COUNTER_MASK;
+    }
+
+    public int resendCount() {
+        return counters >>> COUNTER_BITS;
+    }
+
+    public boolean isExpired(Instant now) {
+        return Integer.toUnsignedLong(expireAtEpochSecond) < now.getEpochSecond();
+    }
+
+    public boolean isInResendCooldown(Instant now) {
+        return Integer.toUnsignedLong(nextResendAtEpochSecond) > now.getEpochSecond();
+    }
+
+    /**
+     * Compares without building a {@code String} for the stored code; non-numeric input never matches.
+     */
+    public boolean matches(String input) {
+        if (input == null || input.length() != SecurityConstants.OTP_LENGTH) {
+            return false;
+        }
+        int value = 0;
+        for (int i = 0; i < input.length(); i++) {
+            int digit = input.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return false;
+            }
+            value = value * 10 + digit;
+        }
+        return value == code;
+    }
+
+    public OTPData withFailedAttempt() {
+        return new OTPData(code, expireAtEpochSecond, nextResendAtEpochSecond, counters + 1);
+    }
+
+    public OTPData regenerated(int newCode, Instant newExpireAt, Instant nextResendAt) {
+        return new OTPData(newCode, toEpochSecond(newExpireAt), toEpochSecond(nextResendAt),
+                (resendCount() + 1) << COUNTER_BITS);
+    }
+
+    // Unsigned epoch seconds stay valid until 2106
+    private static int toEpochSecond(Instant instant) {
+        return (int) instant.getEpochSecond();
     }
 }
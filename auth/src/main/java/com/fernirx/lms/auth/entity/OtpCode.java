@@ -0,0 +1,36 @@
+package com.fernirx.lms.auth.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Shared OTP state for one email, mirroring {@code OTPData}. Times are epoch seconds.
+ */
+@Entity
+@Table(name = "otp_codes")
+@Getter
+@Setter
+public class OtpCode {
+    @Id
+    @Column(name = "email", nullable = false, length = 100)
+    private String email;
+
+    @Column(name = "code", nullable = false)
+    private int code;
+
+    @Column(name = "expires_at", nullable = false)
+    private long expiresAt;
+
+    @Column(name = "next_resend_at", nullable = false)
+    private long nextResendAt;
+
+    @Column(name = "counters", nullable = false)
+    private int counters;
+
+    @Column(name = "version", nullable = false)
+    private long version;
+}
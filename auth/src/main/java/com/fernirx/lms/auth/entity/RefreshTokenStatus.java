@@ -0,0 +1,7 @@
+package com.fernirx.lms.auth.entity;
+
+public enum RefreshTokenStatus {
+    ACTIVE,
+    CONSUMED,
+    REVOKED
+}
@@ -0,0 +1,76 @@
+package com.fernirx.lms.auth.repository;
+
+import com.fernirx.lms.auth.entity.OtpCode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface OtpCodeRepository extends JpaRepository<OtpCode, String> {
+
+    /**
+     * Insert the OTP for an email, or replace the existing one
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO otp_codes (email, code, expires_at, next_resend_at, counters, version) " +
+            "VALUES (:email, :code, :expiresAt, :nextResendAt, :counters, :version) AS new " +
+            "ON DUPLICATE KEY UPDATE code = new.code, expires_at = new.expires_at, " +
+            "next_resend_at = new.next_resend_at, counters = new.counters, version = new.version",
+            nativeQuery = true)
+    int upsert(@Param("email") String email,
+               @Param("code") int code,
+               @Param("expiresAt") long expiresAt,
+               @Param("nextResendAt") long nextResendAt,
+               @Param("counters") int counters,
+               @Param("version") long version);
+
+    /**
+     * Insert the OTP for an email unless one exists; returns 0 when another request inserted it first
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT IGNORE INTO otp_codes (email, code, expires_at, next_resend_at, counters, version) " +
+            "VALUES (:email, :code, :expiresAt, :nextResendAt, :counters, :version)",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("email") String email,
+                       @Param("code") int code,
+                       @Param("expiresAt") long expiresAt,
+                       @Param("nextResendAt") long nextResendAt,
+                       @Param("counters") int counters,
+                       @Param("version") long version);
+
+    /**
+     * Replace the OTP state if the row still has {@code expected} version; returns 0 when another update got there first
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE OtpCode o SET o.code = :code, o.expiresAt = :expiresAt, o.nextResendAt = :nextResendAt, " +
+            "o.counters = :counters, o.version = :next WHERE o.email = :email AND o.version = :expected")
+    int compareAndSet(@Param("email") String email,
+                      @Param("expected") long expected,
+                      @Param("next") long next,
+                      @Param("code") int code,
+                      @Param("expiresAt") long expiresAt,
+                      @Param("nextResendAt") long nextResendAt,
+                      @Param("counters") int counters);
+
+    /**
+     * Delete the OTP if the row still has {@code version}
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OtpCode o WHERE o.email = :email AND o.version = :version")
+    int deleteByEmailAndVersion(@Param("email") String email, @Param("version") long version);
+
+    /**
+     * Delete up to {@code limit} expired OTPs, each batch in its own transaction
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM otp_codes WHERE expires_at < :now LIMIT :limit", nativeQuery = true)
+    int deleteExpired(@Param("now") long now, @Param("limit") int limit);
+}
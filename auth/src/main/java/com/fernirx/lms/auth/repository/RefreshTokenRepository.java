@@ -0,0 +1,48 @@
+package com.fernirx.lms.auth.repository;
+
+import com.fernirx.lms.auth.entity.RefreshToken;
+import com.fernirx.lms.auth.entity.RefreshTokenStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+
+    /**
+     * Find the status of a refresh token by its jti
+     */
+    @Query("SELECT t.status FROM RefreshToken t WHERE t.id = :id")
+    Optional<RefreshTokenStatus> findStatusById(@Param("id") String id);
+
+    /**
+     * Move a token from {@code expected} to {@code next} status; returns 0 when another request got there first
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.status = :next WHERE t.id = :id AND t.status = :expected")
+    int compareAndSetStatus(@Param("id") String id,
+                            @Param("expected") RefreshTokenStatus expected,
+                            @Param("next") RefreshTokenStatus next);
+
+    /**
+     * Revoke every token of a family
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.status = com.fernirx.lms.auth.entity.RefreshTokenStatus.REVOKED " +
+            "WHERE t.familyId = :familyId AND t.status <> com.fernirx.lms.auth.entity.RefreshTokenStatus.REVOKED")
+    int revokeFamily(@Param("familyId") String familyId);
+
+    /**
+     * Delete up to {@code limit} expired tokens, each batch in its own transaction
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM refresh_tokens WHERE expires_at < :now LIMIT :limit", nativeQuery = true)
+    int deleteExpired(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
@@ -7,20 +7,25 @@ import com.fernirx.lms.auth.dto.response.RefreshTokenResponse;
 import com.fernirx.lms.common.constants.ApiConstants;
 import com.fernirx.lms.common.exceptions.AccountDisabledException;
 import com.fernirx.lms.common.exceptions.InvalidCredentialsException;
+import com.fernirx.lms.common.exceptions.RevokedTokenException;
+import com.fernirx.lms.common.exceptions.TokenException;
 import com.fernirx.lms.infrastructure.security.CustomUserDetails;
 import com.fernirx.lms.infrastructure.security.JwtProvider;
+import com.fernirx.lms.infrastructure.security.PasswordHashingExecutor;
 import com.fernirx.lms.infrastructure.security.SecurityUtils;
+import com.fernirx.lms.infrastructure.security.VerifiedToken;
 import com.fernirx.lms.user.service.CustomUserDetailsService;
+import com.fernirx.lms.user.service.TokenDenylistService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
@@ -28,24 +33,83 @@ public class AuthService {
     private final JwtProvider jwtProvider;
     private final AuthenticationManager authenticationManager;
     private final CustomUserDetailsService userDetailsService;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenDenylistService tokenDenylistService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final LoginThrottleService loginThrottleService;
 
-    public JwtResponse login(LoginRequest request) {
-        Authentication authentication;
+    /**
+     * Verifies the password on the {@link PasswordHashingExecutor} so the request thread is released
+     * while BCrypt runs; the returned future completes with the issued tokens.
+     *
+     * Throttling runs first on the calling thread, so rejected attempts never reach the hashing pool.
+     *
+     * @throws com.fernirx.lms.common.exceptions.TooManyRequestsException if the caller is throttled or locked out,
+     *                                                                    or the hashing queue is full
+     */
+    public CompletableFuture<JwtResponse> login(LoginRequest request, String clientIp) {
+        loginThrottleService.checkAllowed(request.getUsername(), clientIp);
+        return passwordHashingExecutor.submit(() -> issueTokens(authenticate(request)));
+    }
+
+    public RefreshTokenResponse refreshToken(RefreshTokenRequest request) {
+        VerifiedToken refreshToken = jwtProvider.verifyRefreshToken(request.getRefreshToken());
+        if (tokenDenylistService.isDenied(refreshToken)) {
+            throw new RevokedTokenException();
+        }
+        String freshToken = refreshTokenService.rotate(refreshToken);
+        CustomUserDetails userDetails = (CustomUserDetails) userDetailsService.loadUserByUsername(refreshToken.username());
+        String accessToken = jwtProvider.refreshAccessToken(refreshToken, userDetails);
+
+        return RefreshTokenResponse.builder()
+                .accessToken(accessToken)
+                .refreshToken(freshToken)
+                .build();
+    }
+
+    /**
+     * Ends the session of the given refresh token and, when the caller sent one, revokes its access token too.
+     * The access token is best-effort: one that has already expired needs no denial, and one that does not
+     * verify must not fail a logout whose session is already revoked.
+     */
+    public void logout(RefreshTokenRequest request, String accessToken) {
+        refreshTokenService.revoke(jwtProvider.verifyRefreshToken(request.getRefreshToken()));
+        if (accessToken != null) {
+            denyAccessToken(accessToken);
+        }
+    }
+
+    // ==== PRIVATE HELPERS ====
+
+    private void denyAccessToken(String accessToken) {
+        VerifiedToken token;
         try {
-            authentication = authenticationManager.authenticate(
+            token = jwtProvider.verifyAccessToken(accessToken);
+        } catch (TokenException e) {
+            return;
+        }
+        tokenDenylistService.denyToken(token);
+    }
+
+    private Authentication authenticate(LoginRequest request) {
+        try {
+            Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
                             request.getUsername(),
                             request.getPassword()
                     )
             );
+            loginThrottleService.recordSuccess(request.getUsername());
+            return authentication;
         } catch (BadCredentialsException e) {
+            loginThrottleService.recordFailure(request.getUsername());
             throw new InvalidCredentialsException(request.getUsername());
         } catch (DisabledException e) {
             throw new AccountDisabledException(request.getUsername());
         }
+    }
 
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-
+    private JwtResponse issueTokens(Authentication authentication) {
         CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
         Long userId = userDetails.getId();
         String username = userDetails.getUsername();
@@ -53,7 +117,7 @@ public class AuthService {
         Set<String> roles = SecurityUtils.getAuthorities(userDetails);
 
         String accessToken = jwtProvider.generateAccessToken(authentication);
-        String refreshToken = jwtProvider.generateRefreshToken(userId, username);
+        String refreshToken = refreshTokenService.issue(userId, username);
 
         return JwtResponse.builder()
                 .accessToken(accessToken)
@@ -65,16 +129,4 @@ public class AuthService {
                 .roles(roles)
                 .build();
     }
-
-    public RefreshTokenResponse refreshToken(RefreshTokenRequest request) {
-        String username = jwtProvider.extractUsername(request.getRefreshToken());
-        CustomUserDetails userDetails = (CustomUserDetails) userDetailsService.loadUserByUsername(username);
-        String accessToken = jwtProvider.refreshAccessToken(request.getRefreshToken(), userDetails);
-        String freshToken = jwtProvider.rotateRefreshToken(request.getRefreshToken());
-
-        return RefreshTokenResponse.builder()
-                .accessToken(accessToken)
-                .refreshToken(freshToken)
-                .build();
-    }
 }
@@ -0,0 +1,120 @@
+package com.fernirx.lms.auth.service;
+
+import com.fernirx.lms.common.constants.ApiMessages;
+import com.fernirx.lms.common.exceptions.TooManyRequestsException;
+import com.fernirx.lms.infrastructure.properties.LoginRateLimitProperties;
+import com.fernirx.lms.infrastructure.security.StripedRateLimiter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.NonNull;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+
+/**
+ * Throttles logins per client IP and per username before any password is hashed, and locks a username out
+ * after repeated failures with a lockout that doubles on every further failure.
+ * Rejections are counted as {@code auth.login.rejected{reason=lockout|ip|username}}.
+ * <p>
+ * The client IP is the request's remote address. Behind a load balancer,
+ * {@code server.forward-headers-strategy=native} makes Tomcat take it from {@code X-Forwarded-For} when one of the
+ * configured proxies sets it, so clients get their own buckets.
+ */
+@Service
+public class LoginThrottleService {
+    private final LoginRateLimitProperties properties;
+    private final StripedRateLimiter ipLimiter;
+    private final StripedRateLimiter usernameLimiter;
+    private final Cache<@NonNull String, FailureState> failures;
+    private final Counter lockoutRejections;
+    private final Counter ipRejections;
+    private final Counter usernameRejections;
+
+    public LoginThrottleService(LoginRateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.ipLimiter = new StripedRateLimiter(
+                properties.getIpCapacity(), properties.getIpRefillPeriod(), properties.getMaximumKeys());
+        this.usernameLimiter = new StripedRateLimiter(
+                properties.getUsernameCapacity(), properties.getUsernameRefillPeriod(), properties.getMaximumKeys());
+        this.failures = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumKeys())
+                .expireAfterWrite(properties.getMaxLockoutDuration())
+                .build();
+        this.lockoutRejections = rejectionCounter(meterRegistry, "lockout");
+        this.ipRejections = rejectionCounter(meterRegistry, "ip");
+        this.usernameRejections = rejectionCounter(meterRegistry, "username");
+    }
+
+    // ==== PUBLIC API ====
+
+    /**
+     * @throws TooManyRequestsException if the username is locked out or either rate limit is exhausted
+     */
+    public void checkAllowed(String username, String clientIp) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        String key = normalize(username);
+        FailureState state = failures.getIfPresent(key);
+        if (state != null && state.lockedUntil() > System.nanoTime()) {
+            reject(lockoutRejections);
+        }
+        if (clientIp != null && !ipLimiter.tryAcquire(clientIp)) {
+            reject(ipRejections);
+        }
+        if (!usernameLimiter.tryAcquire(key)) {
+            reject(usernameRejections);
+        }
+    }
+
+    public void recordFailure(String username) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long now = System.nanoTime();
+        failures.asMap().compute(normalize(username), (key, state) -> {
+            int count = state == null ? 1 : state.count() + 1;
+            return new FailureState(count, now + lockoutNanos(count));
+        });
+    }
+
+    public void recordSuccess(String username) {
+        failures.invalidate(normalize(username));
+    }
+
+    // ==== PRIVATE HELPERS ====
+
+    private long lockoutNanos(int failureCount) {
+        int excess = failureCount - properties.getLockoutThreshold();
+        if (excess < 0) {
+            return 0;
+        }
+        long max = properties.getMaxLockoutDuration().toNanos();
+        long lockout = properties.getLockoutDuration().toNanos();
+        for (int i = 0; i < excess && lockout < max; i++) {
+            lockout <<= 1;
+        }
+        return Math.min(lockout, max);
+    }
+
+    private static void reject(Counter counter) {
+        counter.increment();
+        throw new TooManyRequestsException(ApiMessages.LOGIN_RATE_LIMITED);
+    }
+
+    private static String normalize(String username) {
+        return username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("auth.login.rejected")
+                .tag("reason", reason)
+                .description("Login attempts rejected before password verification")
+                .register(meterRegistry);
+    }
+
+    private record FailureState(int count, long lockedUntil) {
+    }
+}
@@ -1,107 +1,109 @@
 package com.fernirx.lms.auth.service;
 
 import com.fernirx.lms.auth.dto.OTPData;
+import com.fernirx.lms.auth.store.OtpStore;
 import com.fernirx.lms.common.constants.ApiMessages;
 import com.fernirx.lms.common.constants.SecurityConstants;
 import com.fernirx.lms.common.enums.ErrorCode;
 import com.fernirx.lms.common.exceptions.OtpException;
 import com.fernirx.lms.infrastructure.properties.OtpProperties;
-import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.Cache;
-import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 
 import java.security.SecureRandom;
 import java.time.Instant;
-import java.util.Objects;
 
+/**
+ * Issues and checks password-reset OTPs.
+ * Each verify or resend is a single atomic {@code compute} on the {@link OtpStore}, so checks and updates for one
+ * email are serialized per key without a global lock, and the attempt limit cannot be overrun by parallel requests.
+ */
 @Service
 @RequiredArgsConstructor
 public class OtpService {
-    private final CacheManager cacheManager;
-    private final OtpProperties otpProperties;
-    private SecureRandom secureRandom;
-    private Cache cache;
+    private static final int OTP_BOUND = (int) Math.pow(10, SecurityConstants.OTP_LENGTH);
 
-    @PostConstruct
-    public void init() {
-        this.secureRandom = new SecureRandom();
-        this.cache = cacheManager.getCache("otps");
-    }
+    private final OtpStore otpStore;
+    private final OtpProperties otpProperties;
+    private final SecureRandom secureRandom = new SecureRandom();
 
     public OTPData generateOtp(String key) {
         validateKey(key);
 
-        String otp = generateRandomOtp();
-        Instant expireAt = Instant.now().plus(otpProperties.getExpireAfterWrite());
-        Instant lastResetAt = Instant.now().plus(otpProperties.getResendCooldown());
-
-        OTPData otpData = OTPData.builder()
-                .otp(otp)
-                .expireAt(expireAt)
-                .maxAttempts(0)
-                .resendCount(0)
-                .lastResendAt(lastResetAt)
-                .build();
+        Instant now = Instant.now();
+        OTPData otpData = OTPData.issued(
+                generateRandomOtp(),
+                now.plus(otpProperties.getExpireAfterWrite()),
+                now.plus(otpProperties.getResendCooldown())
+        );
 
-        cache.put(key, otpData);
+        otpStore.put(key, otpData);
         return otpData;
     }
 
     public OTPData regenerateOtp(String key) {
         validateKey(key);
-        OTPData existingOtp = cache.get(key, OTPData.class);
-        if (existingOtp != null) {
-            if (existingOtp.getResendCount() >= otpProperties.getMaxResend()) {
-                cache.evict(key);
-                throw new OtpException(ErrorCode.OTP_MAX_RESEND_EXCEEDED, ApiMessages.OTP_MAX_RESEND_EXCEEDED);
+        Outcome[] outcome = new Outcome[1];
+
+        OTPData regenerated = otpStore.compute(key, existingOtp -> {
+            if (existingOtp == null) {
+                outcome[0] = Outcome.NOT_FOUND;
+                return null;
             }
-            if (existingOtp.getLastResendAt().isAfter(Instant.now())) {
-                throw new OtpException(ErrorCode.OTP_RESEND_COOLDOWN, ApiMessages.OTP_RESEND_COOLDOWN);
+            Instant now = Instant.now();
+            if (existingOtp.resendCount() >= otpProperties.getMaxResend()) {
+                outcome[0] = Outcome.MAX_RESEND_EXCEEDED;
+                return null;
             }
-            Instant expireAt = Instant.now().plus(otpProperties.getExpireAfterWrite());
-            Instant lastResetAt = Instant.now().plus(otpProperties.getResendCooldown());
-
-            existingOtp.setOtp(generateRandomOtp());
-            existingOtp.incrementResendCount();
-            existingOtp.setExpireAt(expireAt);
-            existingOtp.setLastResendAt(lastResetAt);
-
-            cache.put(key, existingOtp);
-            return existingOtp;
-        }
-        throw new OtpException(ErrorCode.OTP_NOT_FOUND, ApiMessages.OTP_NOT_FOUND);
+            if (existingOtp.isInResendCooldown(now)) {
+                outcome[0] = Outcome.RESEND_COOLDOWN;
+                return existingOtp;
+            }
+            outcome[0] = Outcome.SUCCESS;
+            return existingOtp.regenerated(
+                    generateRandomOtp(),
+                    now.plus(otpProperties.getExpireAfterWrite()),
+                    now.plus(otpProperties.getResendCooldown())
+            );
+        });
+
+        outcome[0].throwIfFailed();
+        return regenerated;
     }
 
     public Boolean validateOtp(String key, String inputOtp) {
-        OTPData otpData = cache.get(key, OTPData.class);
-        if (otpData == null) {
-            throw new OtpException(ErrorCode.OTP_NOT_FOUND, ApiMessages.OTP_NOT_FOUND);
-        }
-        if (otpData.getExpireAt().isBefore(Instant.now())) {
-            cache.evict(key);
-            throw new OtpException(ErrorCode.OTP_EXPIRED, ApiMessages.OTP_EXPIRED);
-        }
-        if (Objects.equals(otpData.getMaxAttempts(), otpProperties.getMaxAttempts())) {
-            cache.evict(key);
-            throw new OtpException(ErrorCode.OTP_MAX_ATTEMPTS_EXCEED, ApiMessages.OTP_MAX_ATTEMPTS_EXCEED);
-        }
-
-        otpData.incrementAttempts();
-        cache.put(key, otpData);
+        Outcome[] outcome = new Outcome[1];
 
-        if (!otpData.getOtp().equalsIgnoreCase(inputOtp)) {
-            throw new OtpException(ErrorCode.OTP_INVALID, ApiMessages.OTP_INVALID);
-        }
+        otpStore.compute(key, otpData -> {
+            if (otpData == null) {
+                outcome[0] = Outcome.NOT_FOUND;
+                return null;
+            }
+            if (otpData.isExpired(Instant.now())) {
+                outcome[0] = Outcome.EXPIRED;
+                return null;
+            }
+            if (otpData.attempts() >= otpProperties.getMaxAttempts()) {
+                outcome[0] = Outcome.MAX_ATTEMPTS_EXCEEDED;
+                return null;
+            }
+            if (!otpData.matches(inputOtp)) {
+                outcome[0] = Outcome.INVALID;
+                return otpData.withFailedAttempt();
+            }
+            // A matching code is single-use
+            outcome[0] = Outcome.SUCCESS;
+            return null;
+        });
 
-        cache.evict(key);
+        outcome[0].throwIfFailed();
         return true;
     }
 
-    private String generateRandomOtp() {
-        int otpValue = secureRandom.nextInt((int) Math.pow(10, SecurityConstants.OTP_LENGTH));
-        return String.format("%0" + SecurityConstants.OTP_LENGTH + "d", otpValue);
+    // ==== PRIVATE HELPERS ====
+
+    private int generateRandomOtp() {
+        return secureRandom.nextInt(OTP_BOUND);
     }
 
     private void validateKey(String key) {
@@ -109,4 +111,32 @@ public class OtpService {
             throw new IllegalArgumentException("OTP key cannot be null or empty");
         }
     }
+
+    /**
+     * Result of one atomic step, recorded inside {@code compute} and turned into an exception after it,
+     * so that removals still happen when the request fails.
+     */
+    private enum Outcome {
+        SUCCESS(null, null),
+        NOT_FOUND(ErrorCode.OTP_NOT_FOUND, ApiMessages.OTP_NOT_FOUND),
+        EXPIRED(ErrorCode.OTP_EXPIRED, ApiMessages.OTP_EXPIRED),
+        MAX_ATTEMPTS_EXCEEDED(ErrorCode.OTP_MAX_ATTEMPTS_EXCEED, ApiMessages.OTP_MAX_ATTEMPTS_EXCEED),
+        INVALID(ErrorCode.OTP_INVALID, ApiMessages.OTP_INVALID),
+        MAX_RESEND_EXCEEDED(ErrorCode.OTP_MAX_RESEND_EXCEEDED, ApiMessages.OTP_MAX_RESEND_EXCEEDED),
+        RESEND_COOLDOWN(ErrorCode.OTP_RESEND_COOLDOWN, ApiMessages.OTP_RESEND_COOLDOWN);
+
+        private final ErrorCode errorCode;
+        private final String message;
+
+        Outcome(ErrorCode errorCode, String message) {
+            this.errorCode = errorCode;
+            this.message = message;
+        }
+
+        void throwIfFailed() {
+            if (errorCode != null) {
+                throw new OtpException(errorCode, message);
+            }
+        }
+    }
 }
@@ -0,0 +1,64 @@
+package com.fernirx.lms.auth.service;
+
+import com.fernirx.lms.common.constants.ApiMessages;
+import com.fernirx.lms.common.exceptions.TooManyRequestsException;
+import com.fernirx.lms.infrastructure.properties.PasswordResetRateLimitProperties;
+import com.fernirx.lms.infrastructure.security.StripedRateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+
+/**
+ * Throttles the unauthenticated forgot-password and resend-OTP endpoints per client IP and per email,
+ * before the user lookup or any mail is sent.
+ * Rejections are counted as {@code auth.password_reset.rejected{reason=ip|email}}.
+ */
+@Service
+public class PasswordResetThrottleService {
+    private final PasswordResetRateLimitProperties properties;
+    private final StripedRateLimiter ipLimiter;
+    private final StripedRateLimiter emailLimiter;
+    private final Counter ipRejections;
+    private final Counter emailRejections;
+
+    public PasswordResetThrottleService(PasswordResetRateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.ipLimiter = new StripedRateLimiter(
+                properties.getIpCapacity(), properties.getIpRefillPeriod(), properties.getMaximumKeys());
+        this.emailLimiter = new StripedRateLimiter(
+                properties.getEmailCapacity(), properties.getEmailRefillPeriod(), properties.getMaximumKeys());
+        this.ipRejections = rejectionCounter(meterRegistry, "ip");
+        this.emailRejections = rejectionCounter(meterRegistry, "email");
+    }
+
+    /**
+     * @throws TooManyRequestsException if either rate limit is exhausted
+     */
+    public void checkAllowed(String email, String clientIp) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (clientIp != null && !ipLimiter.tryAcquire(clientIp)) {
+            reject(ipRejections);
+        }
+        if (!emailLimiter.tryAcquire(email.trim().toLowerCase(Locale.ROOT))) {
+            reject(emailRejections);
+        }
+    }
+
+    // ==== PRIVATE HELPERS ====
+
+    private static void reject(Counter counter) {
+        counter.increment();
+        throw new TooManyRequestsException(ApiMessages.PASSWORD_RESET_RATE_LIMITED);
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("auth.password_reset.rejected")
+                .tag("reason", reason)
+                .description("Password reset requests rejected before the user lookup")
+                .register(meterRegistry);
+    }
+}
@@ -11,7 +11,8 @@ import com.fernirx.lms.common.enums.ErrorCode;
 import com.fernirx.lms.common.exceptions.OtpException;
 import com.fernirx.lms.infrastructure.message.MailService;
 import com.fernirx.lms.infrastructure.security.JwtProvider;
-import com.fernirx.lms.user.entity.User;
+import com.fernirx.lms.infrastructure.security.VerifiedToken;
+import com.fernirx.lms.user.dto.response.UserIdentity;
 import com.fernirx.lms.user.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -23,30 +24,34 @@ public class PasswordService {
     private final MailService mailService;
     private final UserService userService;
     private final OtpService otpService;
+    private final PasswordResetThrottleService passwordResetThrottleService;
 
-    public void forgotPassword(ForgotPasswordRequest request) {
-        userService.getUserByEmailForReset(request.getEmail()).ifPresent(user -> {
-            OTPData otp = otpService.generateOtp(user.getEmail());
-            mailService.sendResetPassword(user.getEmail(), user.getUsername(), otp.getOtp());
+    public void forgotPassword(ForgotPasswordRequest request, String clientIp) {
+        passwordResetThrottleService.checkAllowed(request.getEmail(), clientIp);
+        userService.getIdentityByEmailForReset(request.getEmail()).ifPresent(user -> {
+            OTPData otp = otpService.generateOtp(user.email());
+            mailService.sendResetPassword(user.email(), user.username(), otp.otp());
         });
     }
 
-    public void resendOtp(ResendOtpRequest request) {
-        userService.getUserByEmailForReset(request.getEmail()).ifPresent(user -> {
-            OTPData otp = otpService.regenerateOtp(user.getEmail());
-            mailService.sendResetPassword(user.getEmail(), user.getUsername(), otp.getOtp());
+    public void resendOtp(ResendOtpRequest request, String clientIp) {
+        passwordResetThrottleService.checkAllowed(request.getEmail(), clientIp);
+        userService.getIdentityByEmailForReset(request.getEmail()).ifPresent(user -> {
+            OTPData otp = otpService.regenerateOtp(user.email());
+            mailService.sendResetPassword(user.email(), user.username(), otp.otp());
         });
     }
 
     public OtpVerifyResponse verifyOtp(OtpVerifyRequest request) {
         otpService.validateOtp(request.getEmail(), request.getOtp());
-        User user = userService.getUserByEmailForReset(request.getEmail())
+        // Fresh read: a cached identity may name a username that has since changed on another node
+        UserIdentity user = userService.getCurrentIdentityByEmail(request.getEmail())
                 .orElseThrow(() -> new OtpException(
                         ErrorCode.OTP_INVALID,
                         ApiMessages.OTP_INVALID
                 ));
         String resetPasswordToken =
-                jwtProvider.generateResetPasswordToken(user.getId(), user.getUsername());
+                jwtProvider.generateResetPasswordToken(user.id(), user.username());
 
         return OtpVerifyResponse.builder()
                 .resetPasswordToken(resetPasswordToken)
@@ -54,8 +59,7 @@ public class PasswordService {
     }
 
     public void resetPassword(ResetPasswordRequest request) {
-        jwtProvider.validateResetPasswordToken(request.getResetPasswordToken());
-        String username = jwtProvider.extractUsername(request.getResetPasswordToken());
-        userService.resetPassword(username, request.getPassword());
+        VerifiedToken resetPasswordToken = jwtProvider.verifyResetPasswordToken(request.getResetPasswordToken());
+        userService.resetPassword(resetPasswordToken.username(), request.getPassword());
     }
 }
@@ -0,0 +1,159 @@
+package com.fernirx.lms.auth.service;
+
+import com.fernirx.lms.auth.entity.RefreshToken;
+import com.fernirx.lms.auth.entity.RefreshTokenStatus;
+import com.fernirx.lms.auth.repository.RefreshTokenRepository;
+import com.fernirx.lms.common.exceptions.RevokedTokenException;
+import com.fernirx.lms.common.exceptions.TokenException;
+import com.fernirx.lms.infrastructure.properties.JwtProperties;
+import com.fernirx.lms.infrastructure.properties.RefreshTokenProperties;
+import com.fernirx.lms.infrastructure.security.JwtProvider;
+import com.fernirx.lms.infrastructure.security.VerifiedToken;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Tracks issued refresh tokens by {@code jti} and rotation family.
+ * Each token can be exchanged once; presenting a consumed token again revokes its whole family,
+ * which logs out both the legitimate client and whoever replayed the stolen token.
+ * Consumed tokens and revoked families are remembered in memory, so replays are rejected
+ * without a database round trip; the table stays the source of truth across instances.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtProvider jwtProvider;
+    private final JwtProperties jwtProperties;
+    private final RefreshTokenProperties refreshTokenProperties;
+    private final Cache<@NonNull String, Boolean> consumedTokens;
+    private final Cache<@NonNull String, Boolean> revokedFamilies;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               JwtProvider jwtProvider,
+                               JwtProperties jwtProperties,
+                               RefreshTokenProperties refreshTokenProperties) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.jwtProvider = jwtProvider;
+        this.jwtProperties = jwtProperties;
+        this.refreshTokenProperties = refreshTokenProperties;
+        this.consumedTokens = newCache();
+        this.revokedFamilies = newCache();
+    }
+
+    // ==== PUBLIC API ====
+
+    /**
+     * Starts a new token family for a fresh login.
+     */
+    @Transactional
+    public String issue(long userId, String username) {
+        String tokenId = UUID.randomUUID().toString();
+        String familyId = UUID.randomUUID().toString();
+        save(tokenId, familyId, userId);
+        return jwtProvider.generateRefreshToken(userId, username, tokenId, familyId);
+    }
+
+    /**
+     * Consumes a verified refresh token and issues its successor in the same family.
+     *
+     * @throws RevokedTokenException if the token was already consumed, its family was revoked,
+     *                               or it was issued before tokens were tracked
+     */
+    @Transactional(noRollbackFor = TokenException.class)
+    public String rotate(VerifiedToken refreshToken) {
+        String tokenId = refreshToken.tokenId();
+        String familyId = refreshToken.familyId();
+        if (tokenId == null || familyId == null || revokedFamilies.getIfPresent(familyId) != null) {
+            throw new RevokedTokenException();
+        }
+        if (consumedTokens.getIfPresent(tokenId) != null) {
+            revokeReusedFamily(refreshToken);
+        }
+
+        int consumed = refreshTokenRepository.compareAndSetStatus(
+                tokenId, RefreshTokenStatus.ACTIVE, RefreshTokenStatus.CONSUMED);
+        if (consumed == 0) {
+            RefreshTokenStatus status = refreshTokenRepository.findStatusById(tokenId)
+                    .orElse(RefreshTokenStatus.REVOKED);
+            if (status == RefreshTokenStatus.CONSUMED) {
+                revokeReusedFamily(refreshToken);
+            }
+            revokedFamilies.put(familyId, Boolean.TRUE);
+            throw new RevokedTokenException();
+        }
+        consumedTokens.put(tokenId, Boolean.TRUE);
+
+        String successorId = UUID.randomUUID().toString();
+        save(successorId, familyId, refreshToken.userId());
+        return jwtProvider.rotateRefreshToken(refreshToken, successorId);
+    }
+
+    /**
+     * Revokes the family of a verified refresh token, ending that login session.
+     */
+    @Transactional
+    public void revoke(VerifiedToken refreshToken) {
+        if (refreshToken.familyId() != null) {
+            revokeFamily(refreshToken.familyId());
+        }
+    }
+
+    /**
+     * Deletes expired tokens in bounded batches so no single statement holds locks for long.
+     */
+    @Scheduled(fixedDelayString = "${application.security.refresh-token.compaction-interval:PT1H}")
+    public void compactExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int batchSize = refreshTokenProperties.getCompactionBatchSize();
+        long total = 0;
+        int deleted;
+        do {
+            deleted = refreshTokenRepository.deleteExpired(now, batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+
+        if (total > 0) {
+            log.info("Compacted {} expired refresh tokens", total);
+        }
+    }
+
+    // ==== PRIVATE HELPERS ====
+
+    private void save(String tokenId, String familyId, long userId) {
+        RefreshToken token = new RefreshToken();
+        token.setId(tokenId);
+        token.setFamilyId(familyId);
+        token.setUserId(userId);
+        token.setExpiresAt(LocalDateTime.now().plus(jwtProperties.getRefreshExpiration()));
+        refreshTokenRepository.save(token);
+    }
+
+    private void revokeReusedFamily(VerifiedToken refreshToken) {
+        log.warn("Refresh token reuse detected for user {}, revoking family {}",
+                refreshToken.subject(), refreshToken.familyId());
+        revokeFamily(refreshToken.familyId());
+        throw new RevokedTokenException();
+    }
+
+    private void revokeFamily(String familyId) {
+        refreshTokenRepository.revokeFamily(familyId);
+        revokedFamilies.put(familyId, Boolean.TRUE);
+    }
+
+    private Cache<@NonNull String, Boolean> newCache() {
+        // Entries are useless once the longest-lived refresh token has expired
+        return Caffeine.newBuilder()
+                .maximumSize(refreshTokenProperties.getCacheMaximumSize())
+                .expireAfterWrite(jwtProperties.getRefreshExpiration())
+                .build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.fernirx.lms.auth.store;
+
+import com.fernirx.lms.auth.dto.OTPData;
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * Keeps OTPs in the node-local OTP cache. Only correct when every request for an email reaches the same instance.
+ */
+@Component
+@ConditionalOnProperty(prefix = "application.cache.otp", name = "store", havingValue = "caffeine", matchIfMissing = true)
+@RequiredArgsConstructor
+public class CaffeineOtpStore implements OtpStore {
+    private final Cache<@NonNull Object, @NonNull Object> otpCache;
+
+    @Override
+    public void put(String key, OTPData otpData) {
+        otpCache.put(key, otpData);
+    }
+
+    @Override
+    public OTPData compute(String key, UnaryOperator<OTPData> update) {
+        return (OTPData) otpCache.asMap().compute(key, (k, value) -> update.apply((OTPData) value));
+    }
+}
@@ -0,0 +1,135 @@
+package com.fernirx.lms.auth.store;
+
+import com.fernirx.lms.auth.dto.OTPData;
+import com.fernirx.lms.auth.entity.OtpCode;
+import com.fernirx.lms.auth.repository.OtpCodeRepository;
+import com.fernirx.lms.infrastructure.properties.OtpProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.UnaryOperator;
+
+/**
+ * Keeps OTPs in the {@code otp_codes} table so any instance can verify an OTP issued by another.
+ * <p>
+ * Every write is a single conditional statement on the row's version, which is a fresh random value per write,
+ * so a deleted and re-issued OTP never matches a stale one. A losing update re-reads the row and retries.
+ * Rows read or written by this instance are kept in a short-lived near-cache; a stale entry only costs
+ * a failed conditional update and a retry, never a lost attempt.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "application.cache.otp", name = "store", havingValue = "database")
+public class DatabaseOtpStore implements OtpStore {
+    private final OtpCodeRepository otpCodeRepository;
+    private final OtpProperties otpProperties;
+    private final Cache<@NonNull String, VersionedOtp> nearCache;
+
+    public DatabaseOtpStore(OtpCodeRepository otpCodeRepository, OtpProperties otpProperties) {
+        this.otpCodeRepository = otpCodeRepository;
+        this.otpProperties = otpProperties;
+        this.nearCache = Caffeine.newBuilder()
+                .maximumSize(otpProperties.getMaximumSize())
+                .expireAfterWrite(otpProperties.getNearCacheTtl())
+                .build();
+    }
+
+    // ==== PUBLIC API ====
+
+    @Override
+    public void put(String key, OTPData otpData) {
+        long version = nextVersion();
+        otpCodeRepository.upsert(key, otpData.code(), Integer.toUnsignedLong(otpData.expireAtEpochSecond()),
+                Integer.toUnsignedLong(otpData.nextResendAtEpochSecond()), otpData.counters(), version);
+        nearCache.put(key, new VersionedOtp(otpData, version));
+    }
+
+    @Override
+    public OTPData compute(String key, UnaryOperator<OTPData> update) {
+        VersionedOtp current = nearCache.getIfPresent(key);
+        if (current == null) {
+            current = load(key);
+        }
+        while (true) {
+            OTPData previous = current != null ? current.otpData() : null;
+            OTPData next = update.apply(previous);
+            if (next == previous || write(key, current, next)) {
+                return next;
+            }
+            // Another instance changed the row since it was read
+            nearCache.invalidate(key);
+            current = load(key);
+        }
+    }
+
+    /**
+     * Deletes expired OTPs in bounded batches so no single statement holds locks for long.
+     */
+    @Scheduled(fixedDelayString = "${application.cache.otp.purge-interval:PT5M}")
+    public void purgeExpired() {
+        long now = Instant.now().getEpochSecond();
+        int batchSize = otpProperties.getPurgeBatchSize();
+        long total = 0;
+        int deleted;
+        do {
+            deleted = otpCodeRepository.deleteExpired(now, batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+
+        if (total > 0) {
+            log.info("Purged {} expired OTPs", total);
+        }
+    }
+
+    // ==== PRIVATE HELPERS ====
+
+    private VersionedOtp load(String key) {
+        return otpCodeRepository.findById(key)
+                .map(row -> {
+                    VersionedOtp loaded = new VersionedOtp(toOtpData(row), row.getVersion());
+                    nearCache.put(key, loaded);
+                    return loaded;
+                })
+                .orElse(null);
+    }
+
+    private boolean write(String key, VersionedOtp current, OTPData next) {
+        if (next == null) {
+            boolean deleted = otpCodeRepository.deleteByEmailAndVersion(key, current.version()) == 1;
+            if (deleted) {
+                nearCache.invalidate(key);
+            }
+            return deleted;
+        }
+
+        long version = nextVersion();
+        long expiresAt = Integer.toUnsignedLong(next.expireAtEpochSecond());
+        long nextResendAt = Integer.toUnsignedLong(next.nextResendAtEpochSecond());
+        int written = current == null
+                ? otpCodeRepository.insertIfAbsent(key, next.code(), expiresAt, nextResendAt, next.counters(), version)
+                : otpCodeRepository.compareAndSet(key, current.version(), version, next.code(), expiresAt,
+                        nextResendAt, next.counters());
+        if (written == 1) {
+            nearCache.put(key, new VersionedOtp(next, version));
+        }
+        return written == 1;
+    }
+
+    private static OTPData toOtpData(OtpCode row) {
+        return new OTPData(row.getCode(), (int) row.getExpiresAt(), (int) row.getNextResendAt(), row.getCounters());
+    }
+
+    private static long nextVersion() {
+        return ThreadLocalRandom.current().nextLong();
+    }
+
+    private record VersionedOtp(OTPData otpData, long version) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.fernirx.lms.auth.store;
+
+import com.fernirx.lms.auth.dto.OTPData;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * Where OTP state lives between the forgot-password and verify requests.
+ * The node-local {@link CaffeineOtpStore} is the default; {@link DatabaseOtpStore} shares OTPs between instances.
+ */
+public interface OtpStore {
+
+    /**
+     * Stores a freshly issued OTP, replacing any previous one for the key.
+     */
+    void put(String key, OTPData otpData);
+
+    /**
+     * Atomically replaces the state for the key with the result of {@code update}, which receives {@code null}
+     * when the key is absent and returns {@code null} to remove it. The function may be invoked again when
+     * a concurrent update wins, so only its last invocation counts.
+     *
+     * @return the new state, or {@code null} when the key is absent or was removed
+     */
+    OTPData compute(String key, UnaryOperator<OTPData> update);
+}
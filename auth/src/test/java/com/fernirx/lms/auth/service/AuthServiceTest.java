@@ -0,0 +1,68 @@
+package com.fernirx.lms.auth.service;
+
+import com.fernirx.lms.auth.dto.request.RefreshTokenRequest;
+import com.fernirx.lms.common.exceptions.ExpiredTokenException;
+import com.fernirx.lms.common.exceptions.MalformedTokenException;
+import com.fernirx.lms.common.exceptions.TokenException;
+import com.fernirx.lms.infrastructure.security.JwtProvider;
+import com.fernirx.lms.infrastructure.security.VerifiedToken;
+import com.fernirx.lms.user.service.TokenDenylistService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AuthServiceTest {
+    private static final String REFRESH_TOKEN = "refresh";
+    private static final String ACCESS_TOKEN = "access";
+
+    private final JwtProvider jwtProvider = mock(JwtProvider.class);
+    private final RefreshTokenService refreshTokenService = mock(RefreshTokenService.class);
+    private final TokenDenylistService tokenDenylistService = mock(TokenDenylistService.class);
+    private final VerifiedToken refreshToken = token("refresh");
+    private AuthService authService;
+
+    @BeforeEach
+    void setUp() {
+        authService = new AuthService(jwtProvider, null, null, refreshTokenService, tokenDenylistService, null, null);
+        when(jwtProvider.verifyRefreshToken(REFRESH_TOKEN)).thenReturn(refreshToken);
+    }
+
+    @Test
+    void logoutRevokesTheSessionAndDeniesTheAccessToken() {
+        VerifiedToken accessToken = token("access");
+        when(jwtProvider.verifyAccessToken(ACCESS_TOKEN)).thenReturn(accessToken);
+
+        authService.logout(request(), ACCESS_TOKEN);
+
+        verify(refreshTokenService).revoke(refreshToken);
+        verify(tokenDenylistService).denyToken(accessToken);
+    }
+
+    @ParameterizedTest
+    @ValueSource(classes = {ExpiredTokenException.class, MalformedTokenException.class})
+    void logoutSucceedsWhenTheAccessTokenDoesNotVerify(Class<? extends TokenException> failure) {
+        when(jwtProvider.verifyAccessToken(ACCESS_TOKEN)).thenThrow(failure);
+
+        authService.logout(request(), ACCESS_TOKEN);
+
+        verify(refreshTokenService).revoke(refreshToken);
+        verify(tokenDenylistService, never()).denyToken(any());
+    }
+
+    private static RefreshTokenRequest request() {
+        RefreshTokenRequest request = new RefreshTokenRequest();
+        request.setRefreshToken(REFRESH_TOKEN);
+        return request;
+    }
+
+    private static VerifiedToken token(String type) {
+        return new VerifiedToken(type, "7", "student", List.of(), Instant.now().plusSeconds(600), type + "-id", "family");
+    }
+}
@@ -0,0 +1,95 @@
+package com.fernirx.lms.auth.service;
+
+import com.fernirx.lms.auth.dto.OTPData;
+import com.fernirx.lms.auth.store.CaffeineOtpStore;
+import com.fernirx.lms.common.enums.ErrorCode;
+import com.fernirx.lms.common.exceptions.OtpException;
+import com.fernirx.lms.infrastructure.properties.OtpProperties;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.RepeatedTest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OtpServiceConcurrencyTest {
+    private static final String KEY = "student@example.com";
+    private static final int MAX_ATTEMPTS = 5;
+    private static final int THREADS = 32;
+    private static final int CALLS_PER_THREAD = 50;
+    private static final String SUCCESS = "SUCCESS";
+
+    private OtpService otpService;
+
+    @BeforeEach
+    void setUp() {
+        OtpProperties properties = new OtpProperties();
+        properties.setMaximumSize(1_000);
+        properties.setExpireAfterWrite(Duration.ofMinutes(5));
+        properties.setMaxAttempts(MAX_ATTEMPTS);
+        properties.setMaxResend(3);
+        properties.setResendCooldown(Duration.ofSeconds(1));
+        otpService = new OtpService(new CaffeineOtpStore(Caffeine.newBuilder().build()), properties);
+    }
+
+    @RepeatedTest(20)
+    void wrongCodesFromManyThreadsAreCountedExactlyOnceEach() throws Exception {
+        OTPData otp = otpService.generateOtp(KEY);
+        String wrongOtp = otp.otp().equals("000000") ? "111111" : "000000";
+
+        Map<String, Integer> outcomes = hammer(() -> otpService.validateOtp(KEY, wrongOtp));
+
+        assertThat(outcomes.get(ErrorCode.OTP_INVALID.name())).isEqualTo(MAX_ATTEMPTS);
+        assertThat(outcomes.get(ErrorCode.OTP_MAX_ATTEMPTS_EXCEED.name())).isEqualTo(1);
+        assertThat(outcomes.get(ErrorCode.OTP_NOT_FOUND.name())).isEqualTo(THREADS * CALLS_PER_THREAD - MAX_ATTEMPTS - 1);
+    }
+
+    @RepeatedTest(20)
+    void correctCodeIsAcceptedExactlyOnce() throws Exception {
+        OTPData otp = otpService.generateOtp(KEY);
+
+        Map<String, Integer> outcomes = hammer(() -> otpService.validateOtp(KEY, otp.otp()));
+
+        assertThat(outcomes.get(SUCCESS)).isEqualTo(1);
+        assertThat(outcomes.get(ErrorCode.OTP_NOT_FOUND.name())).isEqualTo(THREADS * CALLS_PER_THREAD - 1);
+    }
+
+    /**
+     * Runs {@code call} from all threads at once and counts outcomes by error code name, {@code SUCCESS} when no exception.
+     */
+    private Map<String, Integer> hammer(Callable<?> call) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        Map<String, Integer> outcomes = new ConcurrentHashMap<>();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < CALLS_PER_THREAD; i++) {
+                        String outcome = SUCCESS;
+                        try {
+                            call.call();
+                        } catch (OtpException e) {
+                            outcome = e.getErrorCode().name();
+                        }
+                        outcomes.merge(outcome, 1, Integer::sum);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return outcomes;
+    }
+}
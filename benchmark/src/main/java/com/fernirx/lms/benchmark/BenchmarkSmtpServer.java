@@ -0,0 +1,177 @@
+package com.fernirx.lms.benchmark;
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Loopback SMTP server standing in for the real relay. Every reply is held back by {@code replyDelay} to model
+ * the network round trip, and the time each message's DATA completes is recorded by message index, taken from
+ * recipients of the form {@code user<index>@bench.local}.
+ * <p>
+ * Heap allocated by the session threads is tracked separately, so it can be left out of the application's figures.
+ */
+final class BenchmarkSmtpServer implements AutoCloseable {
+    static final String RECIPIENT_DOMAIN = "@bench.local";
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final ServerSocket serverSocket;
+    private final long replyDelayNanos;
+    private final AtomicLongArray deliveredAt;
+    private final AtomicInteger delivered = new AtomicInteger();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicLong allocatedBytes = new AtomicLong();
+    private final ExecutorService sessions;
+
+    BenchmarkSmtpServer(int messages, long replyDelayNanos) throws IOException {
+        this.serverSocket = new ServerSocket(0, 200, InetAddress.getLoopbackAddress());
+        this.replyDelayNanos = replyDelayNanos;
+        this.deliveredAt = new AtomicLongArray(messages);
+        AtomicInteger counter = new AtomicInteger();
+        this.sessions = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "bench-smtp-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        sessions.execute(this::acceptLoop);
+    }
+
+    static String recipient(int index) {
+        return "user" + index + RECIPIENT_DOMAIN;
+    }
+
+    int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    int connections() {
+        return connections.get();
+    }
+
+    long allocatedBytes() {
+        return allocatedBytes.get();
+    }
+
+    long deliveredAt(int index) {
+        return deliveredAt.get(index);
+    }
+
+    /**
+     * @return {@code true} once every expected message has been delivered, {@code false} on timeout
+     */
+    boolean awaitDelivered(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (delivered.get() < deliveredAt.length()) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(1);
+        }
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        sessions.shutdownNow();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.incrementAndGet();
+                sessions.execute(() -> handle(socket));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII))) {
+            reply(out, "220 bench-smtp ready");
+            List<Integer> recipients = new ArrayList<>();
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.toUpperCase();
+                if (command.startsWith("EHLO") || command.startsWith("HELO")) {
+                    reply(out, "250 bench-smtp");
+                } else if (command.startsWith("MAIL FROM")) {
+                    recipients.clear();
+                    reply(out, "250 OK");
+                } else if (command.startsWith("RCPT TO")) {
+                    recipients.add(messageIndex(line));
+                    reply(out, "250 OK");
+                } else if (command.equals("DATA")) {
+                    reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                    while ((line = in.readLine()) != null && !line.equals(".")) {
+                        // Message content is not inspected
+                    }
+                    long now = System.nanoTime();
+                    for (int index : recipients) {
+                        if (index >= 0 && index < deliveredAt.length() && deliveredAt.compareAndSet(index, 0, now)) {
+                            delivered.incrementAndGet();
+                        }
+                    }
+                    reply(out, "250 Queued");
+                } else if (command.equals("RSET") || command.equals("NOOP")) {
+                    recipients.clear();
+                    reply(out, "250 OK");
+                } else if (command.equals("QUIT")) {
+                    reply(out, "221 Bye");
+                    return;
+                } else {
+                    reply(out, "502 Command not implemented");
+                }
+            }
+        } catch (IOException ignored) {
+            // Client went away
+        } finally {
+            allocatedBytes.addAndGet(THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore);
+        }
+    }
+
+    private void reply(Writer out, String line) throws IOException {
+        if (replyDelayNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(replyDelayNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+        }
+        out.write(line);
+        out.write("\r\n");
+        out.flush();
+    }
+
+    private static int messageIndex(String rcptLine) {
+        int start = rcptLine.indexOf("<user");
+        int end = rcptLine.indexOf(RECIPIENT_DOMAIN);
+        if (start < 0 || end < 0) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(rcptLine, start + 5, end, 10);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.fernirx.lms.benchmark;
+
+import com.fernirx.lms.infrastructure.persistence.IdSequences;
+import jakarta.persistence.*;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.Statistics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Persists the same rows through Hibernate twice, once into a table with {@code IDENTITY} ids and once into a
+ * table with pooled ids from a sequence table laid out like {@link IdSequences}, and prints the insert throughput
+ * and statements prepared per row for each. With {@code IDENTITY}, Hibernate has to run every insert on its own
+ * to learn the id, whatever {@code hibernate.jdbc.batch_size} says.
+ * <p>
+ * Needs a MySQL database it may create and drop tables in; use a scratch schema, never {@code lms_db}.
+ * Options, all {@code --name=value}: {@code url}, {@code username}, {@code password}, {@code rows},
+ * {@code warmup}, {@code chunk-size} (rows per transaction) and {@code batch-size}.
+ */
+public final class IdInsertBenchmark {
+    private static final String PASSWORD_HASH = "$2a$10$7EqJtq98hPqEX7fNZaFWoO5r8Y0X6lF1hFqR0Qe1VwZ1fF4u3H9yK";
+
+    private final Map<String, String> options;
+
+    private IdInsertBenchmark(Map<String, String> options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        new IdInsertBenchmark(options).run();
+    }
+
+    private void run() {
+        int rows = intOption("rows", 20_000);
+        int warmup = intOption("warmup", 2_000);
+        int chunkSize = intOption("chunk-size", 500);
+        System.out.printf("rows=%d warmup=%d chunk-size=%d batch-size=%d%n%n",
+                rows, warmup, chunkSize, intOption("batch-size", 50));
+
+        try (SessionFactory sessionFactory = sessionFactory()) {
+            System.out.println("ids                rows/s   statements/row");
+            measure(sessionFactory, "identity", IdentityRow::new, rows, warmup, chunkSize);
+            measure(sessionFactory, "pooled", PooledRow::new, rows, warmup, chunkSize);
+        }
+    }
+
+    private void measure(SessionFactory sessionFactory, String name, IntFunction<Object> newRow,
+                         int rows, int warmup, int chunkSize) {
+        insert(sessionFactory, newRow, 0, warmup, chunkSize);
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.clear();
+        long start = System.nanoTime();
+        insert(sessionFactory, newRow, warmup, rows, chunkSize);
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%-12s %12.0f %16.2f%n", name, rows * 1_000_000_000d / elapsed,
+                (double) statistics.getPrepareStatementCount() / rows);
+    }
+
+    private static void insert(SessionFactory sessionFactory, IntFunction<Object> newRow, int from, int count,
+                               int chunkSize) {
+        for (int chunkStart = from; chunkStart < from + count; chunkStart += chunkSize) {
+            int chunkEnd = Math.min(chunkStart + chunkSize, from + count);
+            try (Session session = sessionFactory.openSession()) {
+                session.beginTransaction();
+                for (int i = chunkStart; i < chunkEnd; i++) {
+                    session.persist(newRow.apply(i));
+                }
+                session.getTransaction().commit();
+            }
+        }
+    }
+
+    // ==== PRIVATE HELPERS ====
+
+    private SessionFactory sessionFactory() {
+        return new Configuration()
+                .addAnnotatedClass(IdentityRow.class)
+                .addAnnotatedClass(PooledRow.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, options.getOrDefault("url",
+                        "jdbc:mysql://localhost:3306/lms_bench?rewriteBatchedStatements=true"))
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, options.getOrDefault("username", "root"))
+                .setProperty(AvailableSettings.JAKARTA_JDBC_PASSWORD, options.getOrDefault("password", ""))
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, String.valueOf(intOption("batch-size", 50)))
+                .setProperty(AvailableSettings.ORDER_INSERTS, "true")
+                .setProperty(AvailableSettings.GENERATE_STATISTICS, "true")
+                .buildSessionFactory();
+    }
+
+    private int intOption(String name, int defaultValue) {
+        String value = options.get(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    @Entity
+    @Table(name = "bench_identity_rows")
+    static class IdentityRow {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+        String username;
+        String email;
+        String password;
+
+        IdentityRow() {
+        }
+
+        IdentityRow(int index) {
+            this.username = "student" + index;
+            this.email = "student" + index + "@bench.local";
+            this.password = PASSWORD_HASH;
+        }
+    }
+
+    @Entity
+    @Table(name = "bench_pooled_rows")
+    static class PooledRow {
+        @Id
+        @GeneratedValue(strategy = GenerationType.TABLE, generator = "bench_pooled_rows_id")
+        @TableGenerator(name = "bench_pooled_rows_id", table = "bench_id_sequences",
+                pkColumnName = IdSequences.NAME_COLUMN, valueColumnName = IdSequences.VALUE_COLUMN,
+                pkColumnValue = "bench_pooled_rows", allocationSize = IdSequences.ALLOCATION_SIZE)
+        Long id;
+        String username;
+        String email;
+        String password;
+
+        PooledRow() {
+        }
+
+        PooledRow(int index) {
+            this.username = "student" + index;
+            this.email = "student" + index + "@bench.local";
+            this.password = PASSWORD_HASH;
+        }
+    }
+}
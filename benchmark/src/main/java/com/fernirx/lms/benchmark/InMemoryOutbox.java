@@ -0,0 +1,91 @@
+package com.fernirx.lms.benchmark;
+
+import com.fernirx.lms.infrastructure.message.OutboxMail;
+import com.fernirx.lms.infrastructure.message.OutboxMailRepository;
+import com.fernirx.lms.infrastructure.message.OutboxMailStatus;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link OutboxMailRepository} backed by a sorted map, covering only the calls made by {@code MailService} and
+ * {@code MailOutboxWorker}, so the mail pipeline can be measured without a database. Claims are not locked:
+ * the benchmark drains from a single thread, as one scheduler does.
+ */
+final class InMemoryOutbox implements InvocationHandler {
+    private final ConcurrentSkipListMap<Long, OutboxMail> rows = new ConcurrentSkipListMap<>();
+    private final AtomicLong nextId = new AtomicLong();
+
+    static OutboxMailRepository newRepository() {
+        return (OutboxMailRepository) Proxy.newProxyInstance(
+                OutboxMailRepository.class.getClassLoader(),
+                new Class<?>[]{OutboxMailRepository.class},
+                new InMemoryOutbox());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "save" -> save((OutboxMail) args[0]);
+            case "saveAll" -> {
+                List<OutboxMail> saved = new ArrayList<>();
+                ((Iterable<OutboxMail>) args[0]).forEach(mail -> saved.add(save(mail)));
+                yield saved;
+            }
+            case "lockDue" -> lockDue((LocalDateTime) args[0], (Integer) args[1]);
+            case "lease" -> lease((Collection<Long>) args[0], (LocalDateTime) args[1]);
+            case "deleteAllByIdInBatch" -> {
+                ((Iterable<Long>) args[0]).forEach(rows::remove);
+                yield null;
+            }
+            case "countByStatus" -> rows.values().stream().filter(mail -> mail.getStatus() == args[0]).count();
+            case "toString" -> "InMemoryOutbox" + rows.keySet();
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            default -> throw new UnsupportedOperationException("Not supported by the benchmark outbox: " + method);
+        };
+    }
+
+    // ==== PRIVATE HELPERS ====
+
+    private OutboxMail save(OutboxMail mail) {
+        if (mail.getId() == null) {
+            mail.setId(nextId.incrementAndGet());
+        }
+        rows.put(mail.getId(), mail);
+        return mail;
+    }
+
+    private List<OutboxMail> lockDue(LocalDateTime now, int limit) {
+        List<OutboxMail> due = new ArrayList<>(limit);
+        for (OutboxMail mail : rows.values()) {
+            if (due.size() == limit) {
+                break;
+            }
+            if (mail.getStatus() == OutboxMailStatus.PENDING && !mail.getNextAttemptAt().isAfter(now)) {
+                due.add(mail);
+            }
+        }
+        return due;
+    }
+
+    private int lease(Collection<Long> ids, LocalDateTime leaseUntil) {
+        int leased = 0;
+        for (Long id : ids) {
+            OutboxMail mail = rows.get(id);
+            if (mail != null) {
+                mail.setNextAttemptAt(leaseUntil);
+                leased++;
+            }
+        }
+        return leased;
+    }
+}
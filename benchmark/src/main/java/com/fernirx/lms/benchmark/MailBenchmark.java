@@ -0,0 +1,312 @@
+package com.fernirx.lms.benchmark;
+
+import com.fernirx.lms.infrastructure.config.MailExecutorConfig;
+import com.fernirx.lms.infrastructure.message.MailOutboxWorker;
+import com.fernirx.lms.infrastructure.message.MailService;
+import com.fernirx.lms.infrastructure.message.MailTemplateRenderer;
+import com.fernirx.lms.infrastructure.message.OutboxMailRepository;
+import com.fernirx.lms.infrastructure.properties.FrontendProperties;
+import com.fernirx.lms.infrastructure.properties.MailExecutorProperties;
+import com.fernirx.lms.infrastructure.properties.MailOutboxProperties;
+import com.fernirx.lms.infrastructure.properties.OtpProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Drives the welcome-mail path end to end: {@link MailService} renders and queues each message, and
+ * {@link MailOutboxWorker} delivers it to {@link BenchmarkSmtpServer} on loopback. The outbox is kept in memory,
+ * so the figures cover rendering, MIME encoding, SMTP and the worker's scheduling, but not database time.
+ * <p>
+ * Options, all {@code --name=value}: {@code messages}, {@code warmup}, {@code concurrency} (producer threads),
+ * {@code executor-mode}, {@code executor-concurrency}, {@code batch-size}, {@code smtp-latency-ms} (delay before
+ * every SMTP reply) and {@code poll-interval-ms}.
+ */
+public final class MailBenchmark {
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final int STAGE_ITERATIONS = 2_000;
+
+    private final Map<String, String> options;
+
+    private MailBenchmark(Map<String, String> options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        new MailBenchmark(options).run();
+    }
+
+    private void run() throws Exception {
+        int messages = intOption("messages", 5_000);
+        int warmup = intOption("warmup", 1_000);
+        System.out.printf("messages=%d warmup=%d concurrency=%d executor=%s x%d batch-size=%d smtp-latency=%dms%n%n",
+                messages, warmup, intOption("concurrency", 8), executorProperties().getMode(),
+                executorProperties().getConcurrency(), outboxProperties().getBatchSize(),
+                intOption("smtp-latency-ms", 1));
+
+        printStages();
+        if (warmup > 0) {
+            runPipeline(warmup);
+        }
+        printPipeline(runPipeline(messages));
+    }
+
+    // ==== STAGES ====
+
+    /**
+     * Single-threaded cost of each step a message goes through, without any SMTP round trip.
+     */
+    private void printStages() throws Exception {
+        SpringTemplateEngine templateEngine = templateEngine();
+        MailTemplateRenderer.CompiledMailTemplate compiled = new MailTemplateRenderer(templateEngine).compile(
+                "emails/new-user-account", Map.of("loginUrl", "http://localhost/login"),
+                "userName", "username", "temporaryPassword");
+        JavaMailSenderImpl mailSender = mailSender(0);
+        String body = compiled.render("student42", "student42", "Tmp#4242");
+
+        System.out.println("stage                        ns/op        B/op");
+        printStage("render (thymeleaf)", () -> {
+            Context context = new Context();
+            context.setVariable("loginUrl", "http://localhost/login");
+            context.setVariable("userName", "student42");
+            context.setVariable("username", "student42");
+            context.setVariable("temporaryPassword", "Tmp#4242");
+            templateEngine.process("emails/new-user-account", context);
+        });
+        printStage("render (precompiled)", () -> compiled.render("student42", "student42", "Tmp#4242"));
+        printStage("mime build + encode", () -> {
+            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, true);
+            helper.setTo(BenchmarkSmtpServer.recipient(42));
+            helper.setSubject("Welcome to LMS System");
+            helper.setText(body, true);
+            message.writeTo(OutputStream.nullOutputStream());
+        });
+        System.out.println();
+    }
+
+    private void printStage(String name, Stage stage) throws Exception {
+        for (int i = 0; i < STAGE_ITERATIONS; i++) {
+            stage.run();
+        }
+        long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < STAGE_ITERATIONS; i++) {
+            stage.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        System.out.printf("%-24s %10d %11d%n", name, elapsed / STAGE_ITERATIONS, allocated / STAGE_ITERATIONS);
+    }
+
+    // ==== PIPELINE ====
+
+    private PipelineResult runPipeline(int messages) throws Exception {
+        long[] enqueuedAt = new long[messages];
+        long[] enqueueLatency = new long[messages];
+        int concurrency = intOption("concurrency", 8);
+        long pollInterval = intOption("poll-interval-ms", 10);
+
+        try (BenchmarkSmtpServer smtpServer = new BenchmarkSmtpServer(messages,
+                TimeUnit.MILLISECONDS.toNanos(intOption("smtp-latency-ms", 1)))) {
+            OutboxMailRepository outbox = InMemoryOutbox.newRepository();
+            MailService mailService = mailService(outbox);
+            SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+            MailExecutorProperties executorProperties = executorProperties();
+            ExecutorService mailExecutor = new MailExecutorConfig().mailExecutor(executorProperties, meterRegistry);
+            MailOutboxWorker worker = new MailOutboxWorker(outbox, mailSender(smtpServer.port()), outboxProperties(),
+                    new NoOpTransactionManager(), mailExecutor, executorProperties, meterRegistry);
+            ExecutorService producers = Executors.newFixedThreadPool(concurrency);
+
+            AtomicBoolean draining = new AtomicBoolean(true);
+            Thread drainer = new Thread(() -> {
+                while (draining.get()) {
+                    worker.drain();
+                    sleep(pollInterval);
+                }
+            }, "bench-drainer");
+
+            long allocatedBefore = THREADS.getTotalThreadAllocatedBytes();
+            long start = System.nanoTime();
+            drainer.start();
+            for (int i = 0; i < messages; i++) {
+                int index = i;
+                producers.execute(() -> {
+                    long begin = System.nanoTime();
+                    mailService.sendWelcomeEmail(BenchmarkSmtpServer.recipient(index), "user" + index, "Tmp#" + index);
+                    enqueuedAt[index] = begin;
+                    enqueueLatency[index] = System.nanoTime() - begin;
+                });
+            }
+            producers.shutdown();
+            producers.awaitTermination(5, TimeUnit.MINUTES);
+            long enqueued = System.nanoTime();
+            boolean complete = smtpServer.awaitDelivered(5, TimeUnit.MINUTES);
+            long finished = System.nanoTime();
+            draining.set(false);
+            drainer.join();
+            long allocated = THREADS.getTotalThreadAllocatedBytes() - allocatedBefore - smtpServer.allocatedBytes();
+            mailExecutor.shutdown();
+            if (!complete) {
+                throw new IllegalStateException("Not every message reached the SMTP server within 5 minutes");
+            }
+
+            long[] endToEnd = new long[messages];
+            for (int i = 0; i < messages; i++) {
+                endToEnd[i] = smtpServer.deliveredAt(i) - enqueuedAt[i];
+            }
+            return new PipelineResult(messages, enqueued - start, finished - start, enqueueLatency, endToEnd,
+                    allocated, smtpServer.connections());
+        }
+    }
+
+    private static void printPipeline(PipelineResult result) {
+        System.out.printf("enqueue throughput   %,12.0f msg/s%n", perSecond(result.messages(), result.enqueueNanos()));
+        System.out.printf("delivery throughput  %,12.0f msg/s%n", perSecond(result.messages(), result.totalNanos()));
+        System.out.printf("smtp connections     %,12d%n", result.connections());
+        System.out.printf("allocation           %,12d B/msg%n%n", result.allocatedBytes() / result.messages());
+        System.out.println("latency (ms)             p50        p95        p99        max");
+        printLatency("enqueue", result.enqueueLatency());
+        printLatency("end-to-end", result.endToEndLatency());
+    }
+
+    private static void printLatency(String name, long[] latencies) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        System.out.printf("%-18s %10.3f %10.3f %10.3f %10.3f%n", name,
+                millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.95)),
+                millis(percentile(sorted, 0.99)), millis(sorted[sorted.length - 1]));
+    }
+
+    // ==== WIRING ====
+
+    private MailService mailService(OutboxMailRepository outbox) {
+        OtpProperties otpProperties = new OtpProperties();
+        otpProperties.setExpireAfterWrite(Duration.ofMinutes(5));
+        FrontendProperties frontendProperties = new FrontendProperties();
+        frontendProperties.setBaseUrl("http://localhost");
+        frontendProperties.setLoginUrl("http://localhost/login");
+        // The welcome mail goes through JPA, so the bulk JDBC path is left unwired
+        MailService mailService = new MailService(outbox, null, new MailTemplateRenderer(templateEngine()),
+                otpProperties, frontendProperties);
+        mailService.compileTemplates();
+        return mailService;
+    }
+
+    private MailOutboxProperties outboxProperties() {
+        MailOutboxProperties properties = new MailOutboxProperties();
+        properties.setBatchSize(intOption("batch-size", properties.getBatchSize()));
+        properties.setMaxBatchesPerRun(Integer.MAX_VALUE);
+        return properties;
+    }
+
+    private MailExecutorProperties executorProperties() {
+        MailExecutorProperties properties = new MailExecutorProperties();
+        properties.setMode(MailExecutorProperties.Mode.valueOf(
+                options.getOrDefault("executor-mode", properties.getMode().name()).toUpperCase()));
+        properties.setConcurrency(intOption("executor-concurrency", properties.getConcurrency()));
+        return properties;
+    }
+
+    private static JavaMailSenderImpl mailSender(int port) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(port);
+        mailSender.getJavaMailProperties().put("mail.smtp.from", "lms@bench.local");
+        return mailSender;
+    }
+
+    private static SpringTemplateEngine templateEngine() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+        return templateEngine;
+    }
+
+    // ==== PRIVATE HELPERS ====
+
+    private int intOption(String name, int defaultValue) {
+        String value = options.get(name);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        return sorted[Math.max(0, (int) Math.ceil(quantile * sorted.length) - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000d;
+    }
+
+    private static double perSecond(int messages, long nanos) {
+        return messages * 1_000_000_000d / nanos;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Stage {
+        void run() throws Exception;
+    }
+
+    private record PipelineResult(int messages, long enqueueNanos, long totalNanos, long[] enqueueLatency,
+                                  long[] endToEndLatency, long allocatedBytes, int connections) {
+    }
+
+    /**
+     * The in-memory outbox has nothing to commit.
+     */
+    private static final class NoOpTransactionManager implements PlatformTransactionManager {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
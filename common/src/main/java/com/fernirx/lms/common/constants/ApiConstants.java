@@ -11,6 +11,7 @@ public final class ApiConstants {
     public static final String VERIFY_OTP_PATH = "/verify_otp";
     public static final String RESET_PASSWORD_PATH = "/reset";
     public static final String LOGIN_PATH = "/login";
+    public static final String LOGOUT_PATH = "/logout";
     public static final String USERS_PATH = "/users";
     public static final String STUDENTS_PATH = "/students";
     public static final String TEACHERS_PATH = "/teachers";
@@ -21,7 +22,11 @@ public final class ApiConstants {
     public static final String GRADES_PATH = "/grades";
     public static final String REGISTRATIONS_PATH = "/registrations";
     public static final String NOTICES_PATH = "/notices";
+    public static final String NOTIFICATION_JOBS_PATH = "/notification_jobs";
     public static final String REPORTS_PATH = "/reports";
+    public static final String EXPORT_PATH = "/export";
+    public static final String IMPORT_PATH = "/import";
+    public static final String JWKS_PATH = "/.well-known/jwks.json";
 
     // ========== HTTP HEADERS ==========
     public static final String AUTHORIZATION_HEADER = "Authorization";
@@ -41,6 +41,11 @@ public final class ApiMessages {
      */
     public static final String REFRESH_TOKEN_SUCCESS = "Token refreshed successfully";
 
+    /**
+     * Success message for logout, after the refresh token family has been revoked.
+     */
+    public static final String LOGOUT_SUCCESS = "Logged out successfully";
+
     /**
      * Success message for reset password request.
      */
@@ -371,6 +376,32 @@ public final class ApiMessages {
      */
     public static final String ROLE_REQUIRED = "Role '%s' is required to perform this action";
 
+    /**
+     * Error message when login attempts arrive faster than passwords can be verified.
+     */
+    public static final String LOGIN_CAPACITY_EXCEEDED = "Too many login attempts in progress, please retry shortly";
+
+    /**
+     * Error message when every user import slot and its queue are taken.
+     */
+    public static final String USER_IMPORT_CAPACITY_EXCEEDED = "Too many user imports in progress, please retry later";
+
+    /**
+     * Error message when an uploaded import file has no content.
+     */
+    public static final String IMPORT_FILE_EMPTY = "The import file is empty";
+
+    /**
+     * Error message when login attempts for a username or from a client exceed the allowed rate.
+     * Deliberately the same for throttling and lockout so it does not reveal whether the account exists.
+     */
+    public static final String LOGIN_RATE_LIMITED = "Too many login attempts, please try again later";
+
+    /**
+     * Error message when forgot-password or resend-OTP requests for an email or from a client exceed the allowed rate.
+     */
+    public static final String PASSWORD_RESET_RATE_LIMITED = "Too many password reset requests, please try again later";
+
     // ========== TOKEN MESSAGE ==========
 
     /**
@@ -403,6 +434,11 @@ public final class ApiMessages {
      */
     public static final String TOKEN_VALIDATION_FAILED = "Failed to validate the JWT token";
 
+    /**
+     * Authentication error message for JWT tokens whose account has been disabled or revoked.
+     */
+    public static final String TOKEN_REVOKED = "The JWT token has been revoked";
+
     // ========== OTP MESSAGE ==========
 
     /**
@@ -9,6 +9,8 @@ public final class SecurityConstants {
     public static final String JWT_CLAIMS_TYPE = "type";
     public static final String JWT_CLAIMS_USERNAME = "username";
     public static final String JWT_CLAIMS_AUTHORITIES = "authorities";
+    public static final String JWT_CLAIMS_AUTH = "auth";
+    public static final String JWT_CLAIMS_FAMILY = "fid";
 
     // ========== OTP ==========
     public static final int OTP_LENGTH = 6;
@@ -0,0 +1,37 @@
+package com.fernirx.lms.common.dtos.responses;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(
+        name = "CursorPage",
+        title = "Cursor Page",
+        description = "One page of a keyset-paginated listing; pass nextCursor back as the cursor parameter to get the next page"
+)
+public class CursorPage<T> {
+    @Schema(description = "Items on this page, in listing order")
+    private List<T> items;
+
+    @Schema(
+            description = "Opaque token for the next page, or null when this is the last page",
+            nullable = true,
+            example = "azE6NDI"
+    )
+    private String nextCursor;
+
+    public static <T> CursorPage<T> of(List<T> items, String nextCursor) {
+        return CursorPage.<T>builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .build();
+    }
+}
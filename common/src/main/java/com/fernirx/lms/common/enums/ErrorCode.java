@@ -29,6 +29,7 @@ public enum ErrorCode {
     INVALID_ENUM("INVALID_ENUM", HttpStatus.BAD_REQUEST),
     INVALID_FIELD_TYPE("INVALID_FIELD_TYPE", HttpStatus.BAD_REQUEST),
     MALFORMED_JSON("MALFORMED_JSON", HttpStatus.BAD_REQUEST),
+    INVALID_CURSOR("INVALID_CURSOR", HttpStatus.BAD_REQUEST),
 
     // ========== AUTHENTICATION & AUTHORIZATION ERRORS (401/403) ==========
     UNAUTHORIZED("UNAUTHORIZED", HttpStatus.UNAUTHORIZED),
@@ -40,6 +41,7 @@ public enum ErrorCode {
     UNSUPPORTED_TOKEN("UNSUPPORTED_TOKEN", HttpStatus.UNAUTHORIZED),
     JWT_VALIDATION_FAILED("JWT_VALIDATION_FAILED", HttpStatus.UNAUTHORIZED),
     MALFORMED_TOKEN("MALFORMED_TOKEN", HttpStatus.UNAUTHORIZED),
+    TOKEN_REVOKED("TOKEN_REVOKED", HttpStatus.UNAUTHORIZED),
     ACCESS_DENIED("ACCESS_DENIED", HttpStatus.FORBIDDEN),
     INSUFFICIENT_PERMISSIONS("INSUFFICIENT_PERMISSIONS", HttpStatus.FORBIDDEN),
 
@@ -65,6 +67,9 @@ public enum ErrorCode {
     ASSIGNMENT_NOT_FOUND("ASSIGNMENT_NOT_FOUND", HttpStatus.NOT_FOUND),
     GRADE_NOT_FOUND("GRADE_NOT_FOUND", HttpStatus.NOT_FOUND),
     DOCUMENT_NOT_FOUND("DOCUMENT_NOT_FOUND", HttpStatus.NOT_FOUND),
+    COURSE_OFFERING_NOT_FOUND("COURSE_OFFERING_NOT_FOUND", HttpStatus.NOT_FOUND),
+    NOTIFICATION_JOB_NOT_FOUND("NOTIFICATION_JOB_NOT_FOUND", HttpStatus.NOT_FOUND),
+    USER_IMPORT_JOB_NOT_FOUND("USER_IMPORT_JOB_NOT_FOUND", HttpStatus.NOT_FOUND),
 
     // ========== CONFLICT ERRORS (409) ==========
     CONFLICT("CONFLICT", HttpStatus.CONFLICT),
@@ -0,0 +1,11 @@
+package com.fernirx.lms.common.exceptions;
+
+import com.fernirx.lms.common.constants.ApiMessages;
+import com.fernirx.lms.common.enums.ErrorCode;
+
+public class RevokedTokenException extends TokenException {
+
+    public RevokedTokenException() {
+        super(ErrorCode.TOKEN_REVOKED, ApiMessages.TOKEN_REVOKED);
+    }
+}
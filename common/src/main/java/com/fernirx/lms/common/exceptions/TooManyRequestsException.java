@@ -0,0 +1,10 @@
+package com.fernirx.lms.common.exceptions;
+
+import com.fernirx.lms.common.enums.ErrorCode;
+
+public class TooManyRequestsException extends LmsException {
+
+    public TooManyRequestsException(String message) {
+        super(ErrorCode.TOO_MANY_REQUESTS, message);
+    }
+}
@@ -0,0 +1,45 @@
+package com.fernirx.lms.common.utils;
+
+import com.fernirx.lms.common.enums.ErrorCode;
+import com.fernirx.lms.common.exceptions.LmsException;
+import lombok.experimental.UtilityClass;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes the last id of a keyset page as an opaque continuation token, so clients cannot depend on its format
+ * and the encoding can change behind the version prefix.
+ */
+@UtilityClass
+public class KeysetCursor {
+    private static final String VERSION_PREFIX = "k1:";
+
+    public static String encode(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((VERSION_PREFIX + lastId).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * @param cursor token from a previous page, or {@code null} / blank for the first page
+     * @return the id to continue after; {@code 0} for the first page
+     * @throws LmsException with {@link ErrorCode#INVALID_CURSOR} if the token was not issued by {@link #encode}
+     */
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (decoded.startsWith(VERSION_PREFIX)) {
+                long lastId = Long.parseLong(decoded.substring(VERSION_PREFIX.length()));
+                if (lastId > 0) {
+                    return lastId;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // Falls through to the error below; NumberFormatException is an IllegalArgumentException
+        }
+        throw new LmsException(ErrorCode.INVALID_CURSOR, "Invalid pagination cursor");
+    }
+}
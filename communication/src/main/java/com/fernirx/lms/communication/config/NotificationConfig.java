@@ -0,0 +1,31 @@
+package com.fernirx.lms.communication.config;
+
+import com.fernirx.lms.infrastructure.properties.NotificationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * CPU-bound pool that renders a page of notification emails in parallel. Only the fan-out worker submits to it,
+ * at most one task per thread per page, so its queue cannot grow beyond one page.
+ */
+@Configuration
+public class NotificationConfig {
+    public static final String RENDER_EXECUTOR = "notificationRenderExecutor";
+
+    @Bean(name = RENDER_EXECUTOR, destroyMethod = "shutdown")
+    public ExecutorService notificationRenderExecutor(NotificationProperties properties, MeterRegistry meterRegistry) {
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(properties.resolvedRenderParallelism(), runnable -> {
+            Thread thread = new Thread(runnable, "notification-render-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "notification-render");
+    }
+}
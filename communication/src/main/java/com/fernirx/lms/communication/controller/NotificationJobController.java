@@ -0,0 +1,52 @@
+package com.fernirx.lms.communication.controller;
+
+import com.fernirx.lms.common.annotations.docs.StandardResponseDoc;
+import com.fernirx.lms.common.constants.ApiConstants;
+import com.fernirx.lms.common.dtos.responses.SuccessResponse;
+import com.fernirx.lms.common.utils.ApiFormatter;
+import com.fernirx.lms.communication.dto.request.NotificationJobCreateRequest;
+import com.fernirx.lms.communication.dto.response.NotificationJobResponse;
+import com.fernirx.lms.communication.service.NotificationJobService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping(ApiConstants.NOTIFICATION_JOBS_PATH)
+@RequiredArgsConstructor
+public class NotificationJobController {
+
+    private final NotificationJobService notificationJobService;
+
+    @PostMapping
+    @StandardResponseDoc(
+            value = "Create a notification job",
+            description = "Email every student of a class or every registrant of a course offering. " +
+                    "The emails are queued in the background; poll the job for progress"
+    )
+    @PreAuthorize("hasAnyRole('ADMIN', 'DEPT_HEAD', 'ACAD_AFFAIRS')")
+    public ResponseEntity<SuccessResponse<NotificationJobResponse>> createJob(
+            @Valid @RequestBody NotificationJobCreateRequest request) {
+        NotificationJobResponse job = notificationJobService.createJob(request);
+        return ResponseEntity.ok(SuccessResponse.of(
+                ApiFormatter.resourceCreated("Notification job"),
+                job
+        ));
+    }
+
+    @GetMapping("/{id}")
+    @StandardResponseDoc(
+            value = "Get a notification job",
+            description = "Get the status and delivery progress of a notification job"
+    )
+    @PreAuthorize("hasAnyRole('ADMIN', 'DEPT_HEAD', 'ACAD_AFFAIRS')")
+    public ResponseEntity<SuccessResponse<NotificationJobResponse>> getJob(@PathVariable Long id) {
+        NotificationJobResponse job = notificationJobService.getJob(id);
+        return ResponseEntity.ok(SuccessResponse.of(
+                ApiFormatter.resourcesRetrieved("Notification job"),
+                job
+        ));
+    }
+}
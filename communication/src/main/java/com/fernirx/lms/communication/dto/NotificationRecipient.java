@@ -0,0 +1,7 @@
+package com.fernirx.lms.communication.dto;
+
+/**
+ * @param cursor keyset position of the recipient within its audience, increasing in read order
+ */
+public record NotificationRecipient(long cursor, String email, String name) {
+}
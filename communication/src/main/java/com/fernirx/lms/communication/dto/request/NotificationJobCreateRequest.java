@@ -0,0 +1,30 @@
+package com.fernirx.lms.communication.dto.request;
+
+import com.fernirx.lms.communication.entity.NotificationAudience;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationJobCreateRequest {
+    @NotNull
+    private NotificationAudience audience;
+
+    @NotNull
+    @Positive
+    private Long targetId;
+
+    @NotBlank
+    @Size(max = 255)
+    private String subject;
+
+    @NotBlank
+    @Size(max = 10_000)
+    private String content;
+}
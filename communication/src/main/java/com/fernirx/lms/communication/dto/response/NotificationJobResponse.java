@@ -0,0 +1,31 @@
+package com.fernirx.lms.communication.dto.response;
+
+import com.fernirx.lms.communication.entity.NotificationAudience;
+import com.fernirx.lms.communication.entity.NotificationJobStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * A job and its delivery progress. {@code enqueued} recipients have an email in the outbox or already sent;
+ * of those, {@code pending} are still waiting for SMTP and {@code failed} gave up after their retries.
+ */
+@Data
+@Builder
+public class NotificationJobResponse {
+    private Long id;
+    private NotificationAudience audience;
+    private Long targetId;
+    private String subject;
+    private NotificationJobStatus status;
+    private int totalRecipients;
+    private int enqueued;
+    private long pending;
+    private long delivered;
+    private long failed;
+    private String lastError;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,15 @@
+package com.fernirx.lms.communication.entity;
+
+/**
+ * Who a notification job reaches; the job's {@code targetId} refers to a row of the matching table.
+ */
+public enum NotificationAudience {
+    /**
+     * Active students of a {@code classes} row
+     */
+    CLASS,
+    /**
+     * Students registered for a {@code course_offerings} row
+     */
+    COURSE_OFFERING
+}
@@ -0,0 +1,90 @@
+package com.fernirx.lms.communication.entity;
+
+import com.fernirx.lms.infrastructure.persistence.IdSequences;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * One email to every recipient of an audience. Recipients are queued page by page in cursor order and
+ * {@code checkpoint} is committed together with each page's outbox rows, so a job picked up again after a
+ * crash or restart continues with the first recipient that was not queued.
+ */
+@Entity
+@Table(name = "notification_jobs")
+@Getter
+@Setter
+public class NotificationJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "notification_jobs_id")
+    @TableGenerator(name = "notification_jobs_id", table = IdSequences.TABLE, pkColumnName = IdSequences.NAME_COLUMN,
+            valueColumnName = IdSequences.VALUE_COLUMN, pkColumnValue = "notification_jobs",
+            allocationSize = IdSequences.ALLOCATION_SIZE)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "audience", nullable = false, length = 32)
+    private NotificationAudience audience;
+
+    @NotNull
+    @Column(name = "target_id", nullable = false)
+    private Long targetId;
+
+    @NotNull
+    @Column(name = "subject", nullable = false)
+    private String subject;
+
+    @NotNull
+    @Column(name = "content", nullable = false, columnDefinition = "TEXT")
+    private String content;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private NotificationJobStatus status = NotificationJobStatus.PENDING;
+
+    /**
+     * Recipients counted when the job was created; the audience may change while it runs.
+     */
+    @Column(name = "total_recipients", nullable = false)
+    private int totalRecipients;
+
+    @Column(name = "enqueued", nullable = false)
+    private int enqueued;
+
+    /**
+     * Cursor of the last recipient queued, {@code 0} before the first page.
+     */
+    @Column(name = "checkpoint", nullable = false)
+    private long checkpoint;
+
+    /**
+     * Failed pages since the last successful one.
+     */
+    @Column(name = "failures", nullable = false)
+    private int failures;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_by")
+    private Long createdBy;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
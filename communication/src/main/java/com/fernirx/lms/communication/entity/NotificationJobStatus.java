@@ -0,0 +1,8 @@
+package com.fernirx.lms.communication.entity;
+
+public enum NotificationJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,29 @@
+package com.fernirx.lms.communication.repository;
+
+import com.fernirx.lms.communication.entity.NotificationJob;
+import com.fernirx.lms.communication.entity.NotificationJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface NotificationJobRepository extends JpaRepository<NotificationJob, Long> {
+
+    /**
+     * Find ids of jobs in the given states, oldest first
+     */
+    @Query("SELECT j.id FROM NotificationJob j WHERE j.status IN :statuses ORDER BY j.id")
+    List<Long> findIdsByStatusIn(@Param("statuses") Collection<NotificationJobStatus> statuses);
+
+    /**
+     * Lock an unfinished job, or return empty if it is finished or another instance holds it
+     */
+    @Query(value = "SELECT * FROM notification_jobs WHERE id = :id AND status IN ('PENDING', 'RUNNING') " +
+            "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<NotificationJob> lockUnfinished(@Param("id") Long id);
+}
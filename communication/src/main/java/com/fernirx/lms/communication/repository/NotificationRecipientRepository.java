@@ -0,0 +1,74 @@
+package com.fernirx.lms.communication.repository;
+
+import com.fernirx.lms.communication.dto.NotificationRecipient;
+import com.fernirx.lms.communication.entity.NotificationAudience;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Reads notification audiences straight from {@code students} and {@code registrations}, which have no entities.
+ * Pages use keyset pagination on the driving table's primary key ({@code students.id} for a class,
+ * {@code registrations.id} for an offering), so every page is an index range scan of
+ * {@code (class_id, id)} or {@code (offering_id, id)} whatever the offset, and the last cursor read is all
+ * a job needs to resume.
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationRecipientRepository {
+    private static final String CLASS_FROM = "FROM students s WHERE s.class_id = ? AND s.status = 'Active'";
+    private static final String OFFERING_FROM = "FROM registrations r JOIN students s ON s.id = r.student_id " +
+            "WHERE r.offering_id = ? AND r.status = 'Registered'";
+    private static final String COLUMNS = "s.email, s.first_name, s.last_name ";
+
+    private static final RowMapper<NotificationRecipient> RECIPIENT_MAPPER = (rs, rowNum) -> new NotificationRecipient(
+            rs.getLong(1),
+            rs.getString(2),
+            rs.getString(3) + " " + rs.getString(4));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Check that the class or course offering exists
+     */
+    public boolean targetExists(NotificationAudience audience, long targetId) {
+        String table = switch (audience) {
+            case CLASS -> "classes";
+            case COURSE_OFFERING -> "course_offerings";
+        };
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM " + table + " WHERE id = ?", Integer.class, targetId);
+        return count != null && count > 0;
+    }
+
+    /**
+     * Count recipients currently in the audience
+     */
+    public int countRecipients(NotificationAudience audience, long targetId) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) " + from(audience), Integer.class, targetId);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Find up to {@code limit} recipients after {@code afterCursor}, in cursor order
+     */
+    public List<NotificationRecipient> findPage(NotificationAudience audience, long targetId, long afterCursor, int limit) {
+        String sql = switch (audience) {
+            case CLASS -> "SELECT s.id, " + COLUMNS + CLASS_FROM + " AND s.id > ? ORDER BY s.id LIMIT ?";
+            case COURSE_OFFERING -> "SELECT r.id, " + COLUMNS + OFFERING_FROM + " AND r.id > ? ORDER BY r.id LIMIT ?";
+        };
+        return jdbcTemplate.query(sql, RECIPIENT_MAPPER, targetId, afterCursor, limit);
+    }
+
+    // ==== PRIVATE HELPERS ====
+
+    private static String from(NotificationAudience audience) {
+        return switch (audience) {
+            case CLASS -> CLASS_FROM;
+            case COURSE_OFFERING -> OFFERING_FROM;
+        };
+    }
+}
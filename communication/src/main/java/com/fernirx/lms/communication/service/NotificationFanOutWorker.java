@@ -0,0 +1,211 @@
+package com.fernirx.lms.communication.service;
+
+import com.fernirx.lms.infrastructure.message.MailService;
+import com.fernirx.lms.infrastructure.message.MailTemplateRenderer;
+import com.fernirx.lms.infrastructure.message.OutboxMailRepository;
+import com.fernirx.lms.infrastructure.message.OutboxMailStatus;
+import com.fernirx.lms.infrastructure.message.RenderedMail;
+import com.fernirx.lms.infrastructure.properties.NotificationProperties;
+import com.fernirx.lms.communication.config.NotificationConfig;
+import com.fernirx.lms.communication.dto.NotificationRecipient;
+import com.fernirx.lms.communication.entity.NotificationJob;
+import com.fernirx.lms.communication.entity.NotificationJobStatus;
+import com.fernirx.lms.communication.repository.NotificationJobRepository;
+import com.fernirx.lms.communication.repository.NotificationRecipientRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Fans notification jobs out into the mail outbox, one page of recipients per transaction: the job row is locked
+ * with {@code FOR UPDATE SKIP LOCKED}, the next page after its checkpoint is read, rendered in parallel on the
+ * render executor and inserted into the outbox, and the checkpoint is advanced in the same commit. A crash
+ * therefore loses at most an uncommitted page, which is read again from the old checkpoint, and no recipient is
+ * queued twice. Unfinished jobs are simply picked up by the next poll, including after a restart.
+ * <p>
+ * Only one page is held in memory at a time whatever the audience size, and jobs pause while the outbox backlog
+ * is above {@code maxOutboxBacklog}, leaving the pace of actual sending to {@code MailOutboxWorker} and its
+ * send-rate limit.
+ * <p>
+ * Metrics: {@code notification.recipients.queued}.
+ */
+@Slf4j
+@Component
+public class NotificationFanOutWorker {
+    private static final String TEMPLATE_NAME = "emails/notification";
+    private static final int MIN_RENDER_SLICE = 64;
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final List<NotificationJobStatus> UNFINISHED =
+            List.of(NotificationJobStatus.PENDING, NotificationJobStatus.RUNNING);
+
+    private final NotificationJobRepository notificationJobRepository;
+    private final NotificationRecipientRepository notificationRecipientRepository;
+    private final OutboxMailRepository outboxMailRepository;
+    private final MailService mailService;
+    private final MailTemplateRenderer mailTemplateRenderer;
+    private final NotificationProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService renderExecutor;
+    private final int renderParallelism;
+    private final Counter queuedCounter;
+
+    // Template of the job being worked on; only touched by run(), which never overlaps with itself
+    private long templateJobId;
+    private MailTemplateRenderer.CompiledMailTemplate template;
+
+    public NotificationFanOutWorker(NotificationJobRepository notificationJobRepository,
+                                    NotificationRecipientRepository notificationRecipientRepository,
+                                    OutboxMailRepository outboxMailRepository,
+                                    MailService mailService,
+                                    MailTemplateRenderer mailTemplateRenderer,
+                                    NotificationProperties properties,
+                                    PlatformTransactionManager transactionManager,
+                                    @Qualifier(NotificationConfig.RENDER_EXECUTOR) ExecutorService renderExecutor,
+                                    MeterRegistry meterRegistry) {
+        this.notificationJobRepository = notificationJobRepository;
+        this.notificationRecipientRepository = notificationRecipientRepository;
+        this.outboxMailRepository = outboxMailRepository;
+        this.mailService = mailService;
+        this.mailTemplateRenderer = mailTemplateRenderer;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.renderExecutor = renderExecutor;
+        this.renderParallelism = properties.resolvedRenderParallelism();
+        this.queuedCounter = Counter.builder("notification.recipients.queued")
+                .description("Notification emails queued in the mail outbox")
+                .register(meterRegistry);
+    }
+
+    // ==== PUBLIC API ====
+
+    /**
+     * Works through unfinished jobs oldest first, queuing pages until the outbox backlog limit is reached.
+     */
+    @Scheduled(fixedDelayString = "${application.notification.poll-interval:PT5S}")
+    public void run() {
+        long backlog = outboxMailRepository.countByStatus(OutboxMailStatus.PENDING);
+        for (Long jobId : notificationJobRepository.findIdsByStatusIn(UNFINISHED)) {
+            while (backlog < properties.getMaxOutboxBacklog()) {
+                PageResult result;
+                try {
+                    result = processPage(jobId);
+                } catch (RuntimeException e) {
+                    recordFailure(jobId, e);
+                    break;
+                }
+                backlog += result.queued();
+                queuedCounter.increment(result.queued());
+                if (!result.hasMore()) {
+                    break;
+                }
+            }
+            if (backlog >= properties.getMaxOutboxBacklog()) {
+                log.debug("Mail outbox backlog at {}, pausing notification jobs until the next poll", backlog);
+                return;
+            }
+        }
+    }
+
+    // ==== PRIVATE HELPERS ====
+
+    private PageResult processPage(long jobId) {
+        return transactionTemplate.execute(status -> {
+            NotificationJob job = notificationJobRepository.lockUnfinished(jobId).orElse(null);
+            if (job == null) {
+                // Finished meanwhile, or another instance is working on it
+                return new PageResult(0, false);
+            }
+            int pageSize = properties.getPageSize();
+            List<NotificationRecipient> page = notificationRecipientRepository.findPage(
+                    job.getAudience(), job.getTargetId(), job.getCheckpoint(), pageSize);
+            if (!page.isEmpty()) {
+                mailService.sendBulk(job.getId(), job.getSubject(), render(job, page));
+                job.setCheckpoint(page.getLast().cursor());
+                job.setEnqueued(job.getEnqueued() + page.size());
+            }
+            job.setFailures(0);
+            job.setLastError(null);
+            boolean hasMore = page.size() == pageSize;
+            if (hasMore) {
+                job.setStatus(NotificationJobStatus.RUNNING);
+            } else {
+                job.setStatus(NotificationJobStatus.COMPLETED);
+                job.setCompletedAt(LocalDateTime.now());
+                log.info("Notification job {} queued all {} emails", job.getId(), job.getEnqueued());
+            }
+            return new PageResult(page.size(), hasMore);
+        });
+    }
+
+    /**
+     * Renders the page in contiguous slices, one per render thread, keeping recipient order.
+     */
+    private List<RenderedMail> render(NotificationJob job, List<NotificationRecipient> page) {
+        MailTemplateRenderer.CompiledMailTemplate compiled = templateFor(job);
+        int slices = Math.min(renderParallelism, (page.size() + MIN_RENDER_SLICE - 1) / MIN_RENDER_SLICE);
+        if (slices <= 1) {
+            return renderSlice(compiled, page);
+        }
+        int sliceSize = (page.size() + slices - 1) / slices;
+        List<CompletableFuture<List<RenderedMail>>> futures = new ArrayList<>(slices);
+        for (int from = 0; from < page.size(); from += sliceSize) {
+            List<NotificationRecipient> slice = page.subList(from, Math.min(from + sliceSize, page.size()));
+            futures.add(CompletableFuture.supplyAsync(() -> renderSlice(compiled, slice), renderExecutor));
+        }
+        List<RenderedMail> mails = new ArrayList<>(page.size());
+        for (CompletableFuture<List<RenderedMail>> future : futures) {
+            mails.addAll(future.join());
+        }
+        return mails;
+    }
+
+    private static List<RenderedMail> renderSlice(MailTemplateRenderer.CompiledMailTemplate compiled,
+                                                  List<NotificationRecipient> slice) {
+        List<RenderedMail> mails = new ArrayList<>(slice.size());
+        for (NotificationRecipient recipient : slice) {
+            mails.add(new RenderedMail(recipient.email(), compiled.render(recipient.name())));
+        }
+        return mails;
+    }
+
+    private MailTemplateRenderer.CompiledMailTemplate templateFor(NotificationJob job) {
+        if (template == null || templateJobId != job.getId()) {
+            template = mailTemplateRenderer.compile(TEMPLATE_NAME,
+                    Map.of("title", job.getSubject(), "content", job.getContent()),
+                    "recipientName");
+            templateJobId = job.getId();
+        }
+        return template;
+    }
+
+    private void recordFailure(long jobId, RuntimeException cause) {
+        log.error("Notification job {} failed to queue a page", jobId, cause);
+        transactionTemplate.executeWithoutResult(status -> notificationJobRepository.findById(jobId).ifPresent(job -> {
+            job.setFailures(job.getFailures() + 1);
+            job.setLastError(truncate(String.valueOf(cause.getMessage())));
+            if (job.getFailures() >= properties.getMaxAttempts()) {
+                job.setStatus(NotificationJobStatus.FAILED);
+                log.error("Giving up on notification job {} after {} failed pages", jobId, job.getFailures());
+            }
+        }));
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private record PageResult(int queued, boolean hasMore) {
+    }
+}
@@ -0,0 +1,90 @@
+package com.fernirx.lms.communication.service;
+
+import com.fernirx.lms.common.enums.ErrorCode;
+import com.fernirx.lms.common.exceptions.ResourceNotFoundException;
+import com.fernirx.lms.infrastructure.message.OutboxMailRepository;
+import com.fernirx.lms.infrastructure.message.OutboxMailStatus;
+import com.fernirx.lms.infrastructure.security.CustomUserDetails;
+import com.fernirx.lms.infrastructure.security.SecurityUtils;
+import com.fernirx.lms.communication.dto.request.NotificationJobCreateRequest;
+import com.fernirx.lms.communication.dto.response.NotificationJobResponse;
+import com.fernirx.lms.communication.entity.NotificationAudience;
+import com.fernirx.lms.communication.entity.NotificationJob;
+import com.fernirx.lms.communication.repository.NotificationJobRepository;
+import com.fernirx.lms.communication.repository.NotificationRecipientRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Creates notification jobs and reports their progress; {@link NotificationFanOutWorker} does the sending.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationJobService {
+    private final NotificationJobRepository notificationJobRepository;
+    private final NotificationRecipientRepository notificationRecipientRepository;
+    private final OutboxMailRepository outboxMailRepository;
+
+    // ==== PUBLIC API ====
+
+    @Transactional
+    public NotificationJobResponse createJob(NotificationJobCreateRequest request) {
+        NotificationAudience audience = request.getAudience();
+        long targetId = request.getTargetId();
+        if (!notificationRecipientRepository.targetExists(audience, targetId)) {
+            throw switch (audience) {
+                case CLASS -> new ResourceNotFoundException(ErrorCode.CLASS_NOT_FOUND, "Class", "id", targetId);
+                case COURSE_OFFERING -> new ResourceNotFoundException(
+                        ErrorCode.COURSE_OFFERING_NOT_FOUND, "Course offering", "id", targetId);
+            };
+        }
+
+        NotificationJob job = new NotificationJob();
+        job.setAudience(audience);
+        job.setTargetId(targetId);
+        job.setSubject(request.getSubject());
+        job.setContent(request.getContent());
+        job.setTotalRecipients(notificationRecipientRepository.countRecipients(audience, targetId));
+        CustomUserDetails currentUser = SecurityUtils.getCurrentUser();
+        job.setCreatedBy(currentUser != null ? currentUser.getId() : null);
+        notificationJobRepository.save(job);
+
+        log.info("Notification job {} created for {} {} with {} recipients",
+                job.getId(), audience, targetId, job.getTotalRecipients());
+        return toResponse(job);
+    }
+
+    @Transactional(readOnly = true)
+    public NotificationJobResponse getJob(Long id) {
+        NotificationJob job = notificationJobRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        ErrorCode.NOTIFICATION_JOB_NOT_FOUND, "Notification job", "id", id));
+        return toResponse(job);
+    }
+
+    // ==== PRIVATE HELPERS ====
+
+    private NotificationJobResponse toResponse(NotificationJob job) {
+        long pending = outboxMailRepository.countByJobIdAndStatus(job.getId(), OutboxMailStatus.PENDING);
+        long failed = outboxMailRepository.countByJobIdAndStatus(job.getId(), OutboxMailStatus.FAILED);
+        return NotificationJobResponse.builder()
+                .id(job.getId())
+                .audience(job.getAudience())
+                .targetId(job.getTargetId())
+                .subject(job.getSubject())
+                .status(job.getStatus())
+                .totalRecipients(job.getTotalRecipients())
+                .enqueued(job.getEnqueued())
+                .pending(pending)
+                .delivered(Math.max(0, job.getEnqueued() - pending - failed))
+                .failed(failed)
+                .lastError(job.getLastError())
+                .createdAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt())
+                .completedAt(job.getCompletedAt())
+                .build();
+    }
+}
@@ -0,0 +1,156 @@
+package com.fernirx.lms.communication.service;
+
+import com.fernirx.lms.communication.dto.NotificationRecipient;
+import com.fernirx.lms.communication.entity.NotificationAudience;
+import com.fernirx.lms.communication.entity.NotificationJob;
+import com.fernirx.lms.communication.entity.NotificationJobStatus;
+import com.fernirx.lms.communication.repository.NotificationJobRepository;
+import com.fernirx.lms.communication.repository.NotificationRecipientRepository;
+import com.fernirx.lms.infrastructure.message.MailService;
+import com.fernirx.lms.infrastructure.message.MailTemplateRenderer;
+import com.fernirx.lms.infrastructure.message.OutboxMailRepository;
+import com.fernirx.lms.infrastructure.message.RenderedMail;
+import com.fernirx.lms.infrastructure.properties.NotificationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class NotificationFanOutWorkerTest {
+    private static final long JOB_ID = 7L;
+    private static final long CLASS_ID = 3L;
+
+    private NotificationJobRepository notificationJobRepository;
+    private MailService mailService;
+    private ExecutorService renderExecutor;
+    private NotificationJob job;
+    private NotificationFanOutWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        // Five students with cursors 10..50
+        List<NotificationRecipient> audience = LongStream.rangeClosed(1, 5)
+                .mapToObj(i -> new NotificationRecipient(i * 10, "student" + i + "@example.com", "Student " + i))
+                .toList();
+        NotificationRecipientRepository recipientRepository = mock(NotificationRecipientRepository.class);
+        when(recipientRepository.findPage(eq(NotificationAudience.CLASS), eq(CLASS_ID), anyLong(), anyInt()))
+                .thenAnswer(invocation -> {
+                    long after = invocation.getArgument(2);
+                    int limit = invocation.getArgument(3);
+                    return audience.stream().filter(r -> r.cursor() > after).limit(limit).toList();
+                });
+
+        job = new NotificationJob();
+        job.setId(JOB_ID);
+        job.setAudience(NotificationAudience.CLASS);
+        job.setTargetId(CLASS_ID);
+        job.setSubject("Room change");
+        job.setContent("Tomorrow's lecture moves to <B201>.");
+        notificationJobRepository = mock(NotificationJobRepository.class);
+        when(notificationJobRepository.findIdsByStatusIn(any())).thenReturn(List.of(JOB_ID));
+        when(notificationJobRepository.lockUnfinished(JOB_ID)).thenAnswer(invocation ->
+                job.getStatus() == NotificationJobStatus.COMPLETED ? Optional.empty() : Optional.of(job));
+        when(notificationJobRepository.findById(JOB_ID)).thenReturn(Optional.of(job));
+
+        OutboxMailRepository outboxMailRepository = mock(OutboxMailRepository.class);
+        mailService = mock(MailService.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        NotificationProperties properties = new NotificationProperties();
+        properties.setPageSize(2);
+        properties.setMaxOutboxBacklog(3);
+        properties.setRenderParallelism(2);
+        properties.setMaxAttempts(2);
+        renderExecutor = Executors.newFixedThreadPool(2);
+
+        worker = new NotificationFanOutWorker(notificationJobRepository, recipientRepository, outboxMailRepository,
+                mailService, new MailTemplateRenderer(templateEngine()), properties, transactionManager,
+                renderExecutor, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        renderExecutor.shutdownNow();
+    }
+
+    @Test
+    void pausesAtTheOutboxBacklogAndResumesFromTheCheckpoint() {
+        worker.run();
+
+        assertThat(job.getStatus()).isEqualTo(NotificationJobStatus.RUNNING);
+        assertThat(job.getCheckpoint()).isEqualTo(40);
+        assertThat(job.getEnqueued()).isEqualTo(4);
+
+        worker.run();
+
+        assertThat(job.getStatus()).isEqualTo(NotificationJobStatus.COMPLETED);
+        assertThat(job.getCheckpoint()).isEqualTo(50);
+        assertThat(job.getEnqueued()).isEqualTo(5);
+        assertThat(job.getCompletedAt()).isNotNull();
+
+        List<RenderedMail> queued = queuedMails(3);
+        assertThat(queued).extracting(RenderedMail::recipient).containsExactly(
+                "student1@example.com", "student2@example.com", "student3@example.com",
+                "student4@example.com", "student5@example.com");
+        assertThat(queued.getFirst().body())
+                .contains("Student 1")
+                .contains("Tomorrow&#39;s lecture moves to &lt;B201&gt;.");
+    }
+
+    @Test
+    void keepsTheCheckpointWhenQueuingFailsAndGivesUpAfterMaxAttempts() {
+        doThrow(new IllegalStateException("outbox unavailable"))
+                .when(mailService).sendBulk(anyLong(), anyString(), anyList());
+
+        worker.run();
+
+        assertThat(job.getStatus()).isEqualTo(NotificationJobStatus.PENDING);
+        assertThat(job.getCheckpoint()).isZero();
+        assertThat(job.getFailures()).isEqualTo(1);
+        assertThat(job.getLastError()).isEqualTo("outbox unavailable");
+
+        worker.run();
+
+        assertThat(job.getStatus()).isEqualTo(NotificationJobStatus.FAILED);
+        assertThat(job.getEnqueued()).isZero();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<RenderedMail> queuedMails(int pages) {
+        ArgumentCaptor<List<RenderedMail>> captor = ArgumentCaptor.forClass(List.class);
+        verify(mailService, times(pages)).sendBulk(eq(JOB_ID), eq("Room change"), captor.capture());
+        List<RenderedMail> mails = new ArrayList<>();
+        captor.getAllValues().forEach(mails::addAll);
+        return mails;
+    }
+
+    private static SpringTemplateEngine templateEngine() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+        return templateEngine;
+    }
+}
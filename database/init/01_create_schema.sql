@@ -73,6 +73,7 @@ CREATE TABLE IF NOT EXISTS `lms_db`.`users` (
   UNIQUE INDEX `username_UNIQUE` (`username` ASC) VISIBLE,
   UNIQUE INDEX `email_UNIQUE` (`email` ASC) VISIBLE,
   INDEX `idx_users_role` (`role_id` ASC) VISIBLE,
+  INDEX `idx_users_deleted_id` (`is_deleted` ASC, `id` ASC) VISIBLE,
   CONSTRAINT `fk_users_roles`
     FOREIGN KEY (`role_id`)
     REFERENCES `lms_db`.`roles` (`id`))
@@ -81,6 +82,163 @@ DEFAULT CHARACTER SET = utf8mb4
 COLLATE = utf8mb4_unicode_520_ci;
 
 
+-- -----------------------------------------------------
+-- Table `lms_db`.`refresh_tokens`
+-- -----------------------------------------------------
+DROP TABLE IF EXISTS `lms_db`.`refresh_tokens` ;
+
+CREATE TABLE IF NOT EXISTS `lms_db`.`refresh_tokens` (
+  `id` CHAR(36) NOT NULL COMMENT 'JWT jti',
+  `family_id` CHAR(36) NOT NULL COMMENT 'Shared by every token rotated from the same login',
+  `user_id` BIGINT NOT NULL,
+  `status` VARCHAR(16) NOT NULL DEFAULT 'ACTIVE' COMMENT 'ACTIVE, CONSUMED, REVOKED',
+  `expires_at` TIMESTAMP NOT NULL,
+  `created_at` TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (`id`),
+  INDEX `idx_refresh_tokens_family` (`family_id` ASC) VISIBLE,
+  INDEX `idx_refresh_tokens_expires_at` (`expires_at` ASC) VISIBLE,
+  CONSTRAINT `fk_refresh_tokens_users`
+    FOREIGN KEY (`user_id`)
+    REFERENCES `lms_db`.`users` (`id`)
+    ON DELETE CASCADE)
+ENGINE = InnoDB
+DEFAULT CHARACTER SET = utf8mb4
+COLLATE = utf8mb4_unicode_520_ci;
+
+
+-- -----------------------------------------------------
+-- Table `lms_db`.`token_denylist`
+-- -----------------------------------------------------
+DROP TABLE IF EXISTS `lms_db`.`token_denylist` ;
+
+CREATE TABLE IF NOT EXISTS `lms_db`.`token_denylist` (
+  `entry` VARCHAR(64) NOT NULL COMMENT 'u:<user id> or t:<access token jti>',
+  `expires_at` TIMESTAMP NOT NULL,
+  `created_at` TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (`entry`),
+  INDEX `idx_token_denylist_expires_at` (`expires_at` ASC) VISIBLE)
+ENGINE = InnoDB
+DEFAULT CHARACTER SET = utf8mb4
+COLLATE = utf8mb4_unicode_520_ci;
+
+
+-- -----------------------------------------------------
+-- Table `lms_db`.`otp_codes`
+-- -----------------------------------------------------
+DROP TABLE IF EXISTS `lms_db`.`otp_codes` ;
+
+CREATE TABLE IF NOT EXISTS `lms_db`.`otp_codes` (
+  `email` VARCHAR(100) NOT NULL,
+  `code` INT NOT NULL,
+  `expires_at` BIGINT NOT NULL COMMENT 'Epoch seconds',
+  `next_resend_at` BIGINT NOT NULL COMMENT 'Epoch seconds',
+  `counters` INT NOT NULL COMMENT 'Failed attempts in the low 16 bits, resends in the high 16 bits',
+  `version` BIGINT NOT NULL COMMENT 'Random per write, compared by conditional updates',
+  PRIMARY KEY (`email`),
+  INDEX `idx_otp_codes_expires_at` (`expires_at` ASC) VISIBLE)
+ENGINE = InnoDB
+DEFAULT CHARACTER SET = utf8mb4
+COLLATE = utf8mb4_unicode_520_ci;
+
+
+-- -----------------------------------------------------
+-- Table `lms_db`.`mail_outbox`
+-- -----------------------------------------------------
+DROP TABLE IF EXISTS `lms_db`.`mail_outbox` ;
+
+CREATE TABLE IF NOT EXISTS `lms_db`.`mail_outbox` (
+  `id` BIGINT NOT NULL AUTO_INCREMENT,
+  `recipient` VARCHAR(100) NOT NULL,
+  `subject` VARCHAR(255) NOT NULL,
+  `body` MEDIUMTEXT NOT NULL COMMENT 'Rendered HTML',
+  `status` VARCHAR(16) NOT NULL DEFAULT 'PENDING' COMMENT 'PENDING, FAILED',
+  `attempts` INT NOT NULL DEFAULT 0,
+  `next_attempt_at` TIMESTAMP NOT NULL COMMENT 'Due time, or lease expiry while a worker holds the row',
+  `last_error` VARCHAR(500) NULL,
+  `job_id` BIGINT NULL COMMENT 'Notification job that queued the message',
+  `created_at` TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (`id`),
+  INDEX `idx_mail_outbox_due` (`status` ASC, `next_attempt_at` ASC) VISIBLE,
+  INDEX `idx_mail_outbox_job` (`job_id` ASC, `status` ASC) VISIBLE)
+ENGINE = InnoDB
+DEFAULT CHARACTER SET = utf8mb4
+COLLATE = utf8mb4_unicode_520_ci;
+
+
+-- -----------------------------------------------------
+-- Table `lms_db`.`notification_jobs`
+-- -----------------------------------------------------
+DROP TABLE IF EXISTS `lms_db`.`notification_jobs` ;
+
+CREATE TABLE IF NOT EXISTS `lms_db`.`notification_jobs` (
+  `id` BIGINT NOT NULL AUTO_INCREMENT,
+  `audience` VARCHAR(32) NOT NULL COMMENT 'CLASS, COURSE_OFFERING',
+  `target_id` BIGINT NOT NULL COMMENT 'classes.id or course_offerings.id',
+  `subject` VARCHAR(255) NOT NULL,
+  `content` TEXT NOT NULL,
+  `status` VARCHAR(16) NOT NULL DEFAULT 'PENDING' COMMENT 'PENDING, RUNNING, COMPLETED, FAILED',
+  `total_recipients` INT NOT NULL DEFAULT 0,
+  `enqueued` INT NOT NULL DEFAULT 0,
+  `checkpoint` BIGINT NOT NULL DEFAULT 0 COMMENT 'Cursor of the last recipient queued',
+  `failures` INT NOT NULL DEFAULT 0,
+  `last_error` VARCHAR(500) NULL,
+  `created_by` BIGINT NULL,
+  `created_at` TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  `updated_at` TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  `completed_at` TIMESTAMP NULL,
+  PRIMARY KEY (`id`),
+  INDEX `idx_notification_jobs_status` (`status` ASC) VISIBLE)
+ENGINE = InnoDB
+DEFAULT CHARACTER SET = utf8mb4
+COLLATE = utf8mb4_unicode_520_ci;
+
+
+-- -----------------------------------------------------
+-- Table `lms_db`.`user_import_jobs`
+-- -----------------------------------------------------
+DROP TABLE IF EXISTS `lms_db`.`user_import_jobs` ;
+
+CREATE TABLE IF NOT EXISTS `lms_db`.`user_import_jobs` (
+  `id` BIGINT NOT NULL AUTO_INCREMENT,
+  `file_name` VARCHAR(255) NULL,
+  `format` VARCHAR(16) NOT NULL COMMENT 'CSV, NDJSON',
+  `status` VARCHAR(16) NOT NULL DEFAULT 'PENDING' COMMENT 'PENDING, RUNNING, COMPLETED, FAILED',
+  `processed_rows` INT NOT NULL DEFAULT 0,
+  `imported_rows` INT NOT NULL DEFAULT 0,
+  `failed_rows` INT NOT NULL DEFAULT 0,
+  `last_error` VARCHAR(500) NULL,
+  `created_by` BIGINT NULL,
+  `created_at` TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  `updated_at` TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  `completed_at` TIMESTAMP NULL,
+  PRIMARY KEY (`id`))
+ENGINE = InnoDB
+DEFAULT CHARACTER SET = utf8mb4
+COLLATE = utf8mb4_unicode_520_ci;
+
+
+-- -----------------------------------------------------
+-- Table `lms_db`.`user_import_errors`
+-- -----------------------------------------------------
+DROP TABLE IF EXISTS `lms_db`.`user_import_errors` ;
+
+CREATE TABLE IF NOT EXISTS `lms_db`.`user_import_errors` (
+  `id` BIGINT NOT NULL AUTO_INCREMENT,
+  `job_id` BIGINT NOT NULL,
+  `line_number` BIGINT NOT NULL COMMENT 'Line of the file where the row starts',
+  `username` VARCHAR(255) NULL,
+  `message` VARCHAR(500) NOT NULL,
+  PRIMARY KEY (`id`),
+  INDEX `idx_user_import_errors_job` (`job_id` ASC, `line_number` ASC) VISIBLE,
+  CONSTRAINT `fk_user_import_errors_jobs`
+    FOREIGN KEY (`job_id`)
+    REFERENCES `lms_db`.`user_import_jobs` (`id`)
+    ON DELETE CASCADE)
+ENGINE = InnoDB
+DEFAULT CHARACTER SET = utf8mb4
+COLLATE = utf8mb4_unicode_520_ci;
+
+
 -- -----------------------------------------------------
 -- Table `lms_db`.`departments`
 -- -----------------------------------------------------
@@ -0,0 +1,30 @@
+-- -----------------------------------------------------
+-- Table `lms_db`.`id_sequences`
+-- -----------------------------------------------------
+-- Id blocks for entities using a pooled TABLE generator (see IdSequences). Each row holds the next value to
+-- reserve for one table; nodes advance it 50 ids at a time.
+--
+-- Runs after the default data is loaded, and can be run again on an existing database before deploying:
+-- every row is moved above its table's current maximum id, never down. The two blocks of headroom keep the
+-- first block handed out clear of existing rows.
+-- -----------------------------------------------------
+CREATE TABLE IF NOT EXISTS `lms_db`.`id_sequences` (
+  `sequence_name` VARCHAR(64) NOT NULL COMMENT 'Table the ids are for',
+  `next_val` BIGINT NOT NULL,
+  PRIMARY KEY (`sequence_name`))
+ENGINE = InnoDB
+DEFAULT CHARACTER SET = utf8mb4
+COLLATE = utf8mb4_unicode_520_ci;
+
+INSERT INTO `lms_db`.`id_sequences` (`sequence_name`, `next_val`)
+SELECT `seed`.`sequence_name`, `seed`.`next_val`
+FROM (
+  SELECT 'users' AS `sequence_name`, COALESCE(MAX(`id`), 0) + 100 AS `next_val` FROM `lms_db`.`users`
+  UNION ALL
+  SELECT 'notification_jobs', COALESCE(MAX(`id`), 0) + 100 FROM `lms_db`.`notification_jobs`
+  UNION ALL
+  SELECT 'user_import_jobs', COALESCE(MAX(`id`), 0) + 100 FROM `lms_db`.`user_import_jobs`
+  UNION ALL
+  SELECT 'user_import_errors', COALESCE(MAX(`id`), 0) + 100 FROM `lms_db`.`user_import_errors`
+) AS `seed`
+ON DUPLICATE KEY UPDATE `next_val` = GREATEST(`id_sequences`.`next_val`, `seed`.`next_val`);
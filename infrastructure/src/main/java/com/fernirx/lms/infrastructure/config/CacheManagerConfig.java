@@ -16,7 +16,7 @@ public class CacheManagerConfig {
     @Bean
     public CacheManager otpCacheManager() {
         CaffeineCacheManager cacheManager = new CaffeineCacheManager();
-        cacheManager.registerCustomCache("otps", cacheConfig);
+        cacheManager.registerCustomCache(OtpCacheConfig.CACHE_NAME, cacheConfig);
         return cacheManager;
     }
 }
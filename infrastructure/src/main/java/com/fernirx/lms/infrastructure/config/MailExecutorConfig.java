@@ -0,0 +1,145 @@
+package com.fernirx.lms.infrastructure.config;
+
+import com.fernirx.lms.infrastructure.properties.MailExecutorProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor for blocking SMTP sends, separate from the scheduler and the default async executor.
+ * Both modes run at most {@code concurrency} sends at once and hold at most {@code queueCapacity} more,
+ * rejecting anything beyond, so a stalled SMTP server cannot make queued work grow without bound.
+ * <ul>
+ *     <li>{@code platform}: a fixed pool of OS threads.</li>
+ *     <li>{@code virtual}: a new virtual thread per send, admitted by semaphores instead of pooled, so
+ *     threads blocked on the SMTP socket do not hold a carrier thread.</li>
+ * </ul>
+ * Published as {@code executor.*{name=mail}} in both modes: running sends ({@code executor.active}),
+ * waiting sends ({@code executor.queued}), queue wait ({@code executor.idle}) and send time ({@code executor}).
+ */
+@Slf4j
+@Configuration
+public class MailExecutorConfig {
+    public static final String MAIL_EXECUTOR = "mailExecutor";
+    private static final String METRIC_NAME = "mail";
+
+    @Bean(name = MAIL_EXECUTOR, destroyMethod = "shutdown")
+    public ExecutorService mailExecutor(MailExecutorProperties properties, MeterRegistry meterRegistry) {
+        ExecutorService executor = properties.getMode() == MailExecutorProperties.Mode.VIRTUAL
+                ? new BoundedVirtualThreadExecutor(properties.getConcurrency(), properties.getQueueCapacity(), meterRegistry)
+                : newPlatformThreadPool(properties);
+        log.info("Mail executor started in {} mode with concurrency {} and queue capacity {}",
+                properties.getMode(), properties.getConcurrency(), properties.getQueueCapacity());
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, METRIC_NAME);
+    }
+
+    // ==== PRIVATE HELPERS ====
+
+    private static ThreadPoolExecutor newPlatformThreadPool(MailExecutorProperties properties) {
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(
+                properties.getConcurrency(),
+                properties.getConcurrency(),
+                0L,
+                TimeUnit.MILLISECONDS,
+                properties.getQueueCapacity() > 0
+                        ? new ArrayBlockingQueue<>(properties.getQueueCapacity())
+                        : new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "mail-sender-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    /**
+     * Starts one virtual thread per task. {@code admission} bounds running plus waiting tasks and rejects beyond
+     * that; {@code running} lets {@code concurrency} of them proceed while the rest park cheaply.
+     */
+    private static final class BoundedVirtualThreadExecutor extends AbstractExecutorService {
+        private final ExecutorService delegate = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("mail-sender-", 1).factory());
+        private final Semaphore admission;
+        private final Semaphore running;
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicInteger queued = new AtomicInteger();
+
+        BoundedVirtualThreadExecutor(int concurrency, int queueCapacity, MeterRegistry meterRegistry) {
+            this.admission = new Semaphore(concurrency + queueCapacity);
+            this.running = new Semaphore(concurrency);
+            Gauge.builder("executor.active", active, AtomicInteger::get)
+                    .tag("name", METRIC_NAME)
+                    .description("The approximate number of threads that are actively executing tasks")
+                    .register(meterRegistry);
+            Gauge.builder("executor.queued", queued, AtomicInteger::get)
+                    .tag("name", METRIC_NAME)
+                    .description("The approximate number of tasks that are queued for execution")
+                    .register(meterRegistry);
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            if (!admission.tryAcquire()) {
+                throw new RejectedExecutionException("Mail executor is saturated");
+            }
+            queued.incrementAndGet();
+            try {
+                delegate.execute(() -> runAdmitted(command));
+            } catch (RejectedExecutionException e) {
+                queued.decrementAndGet();
+                admission.release();
+                throw e;
+            }
+        }
+
+        private void runAdmitted(Runnable command) {
+            try {
+                running.acquireUninterruptibly();
+                queued.decrementAndGet();
+                active.incrementAndGet();
+                try {
+                    command.run();
+                } finally {
+                    active.decrementAndGet();
+                    running.release();
+                }
+            } finally {
+                admission.release();
+            }
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+}
@@ -3,22 +3,59 @@ package com.fernirx.lms.infrastructure.config;
 import com.fernirx.lms.infrastructure.properties.OtpProperties;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+/**
+ * OTP cache bounded by both entry count and estimated memory, like the verified-token cache:
+ * every entry weighs at least {@code maximumMemory / maximumSize} bytes, so neither limit can be exceeded.
+ */
 @Configuration
 @RequiredArgsConstructor
 public class OtpCacheConfig {
+    public static final String CACHE_NAME = "otps";
+
+    // Rough per-entry footprint: compact OTP record and cache node, the key string is added per entry
+    private static final int ENTRY_BASE_BYTES = 96;
+    private static final int STRING_BASE_BYTES = 40;
+
     private final OtpProperties otpProperties;
 
     @Bean
-    public Cache<@NonNull Object, @NonNull Object> otpCache() {
-        return Caffeine.newBuilder()
-                .maximumSize(otpProperties.getMaximumSize())
+    public Cache<@NonNull Object, @NonNull Object> otpCache(MeterRegistry meterRegistry) {
+        long maximumBytes = otpProperties.getMaximumMemory().toBytes();
+        int minimumWeight = (int) Math.max(1, maximumBytes / otpProperties.getMaximumSize());
+
+        Cache<@NonNull Object, @NonNull Object> cache = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher((Object key, Object value) -> Math.max(minimumWeight, estimateBytes(key)))
                 .expireAfterWrite(otpProperties.getExpireAfterWrite())
                 .initialCapacity(otpProperties.getInitialCapacity())
+                .recordStats()
                 .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("cache.weighted.size", cache, OtpCacheConfig::weightedSize)
+                .tag("cache", CACHE_NAME)
+                .baseUnit("bytes")
+                .description("Estimated memory held by the OTP cache")
+                .register(meterRegistry);
+        return cache;
+    }
+
+    private static int estimateBytes(Object key) {
+        int keyBytes = key instanceof String email ? STRING_BASE_BYTES + email.length() : 0;
+        return ENTRY_BASE_BYTES + keyBytes;
+    }
+
+    private static double weightedSize(Cache<Object, Object> cache) {
+        return cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
     }
 }
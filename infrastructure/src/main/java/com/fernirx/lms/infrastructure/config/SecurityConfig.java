@@ -2,11 +2,16 @@ package com.fernirx.lms.infrastructure.config;
 
 import com.fernirx.lms.common.constants.ApiConstants;
 import com.fernirx.lms.infrastructure.handler.JwtAuthenticationEntryPoint;
+import com.fernirx.lms.infrastructure.properties.PasswordHashingProperties;
+import com.fernirx.lms.infrastructure.security.BCryptStrengthCalibrator;
 import com.fernirx.lms.infrastructure.security.JwtAuthenticationFilter;
+import com.fernirx.lms.infrastructure.security.RoleAuthorityRegistry;
+import com.fernirx.lms.infrastructure.security.RoleMaskMethodSecurityExpressionHandler;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -14,23 +19,48 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfigurationSource;
 
+import java.util.Map;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
 @RequiredArgsConstructor
 public class SecurityConfig {
+    private static final String BCRYPT_ENCODER_ID = "bcrypt";
+
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     private final CorsConfigurationSource corsConfigurationSource;
 
+    /**
+     * New hashes are written as {@code {bcrypt}} with the calibrated cost. Hashes stored before the prefix existed
+     * still match through the BCrypt default, and both kinds are upgraded on the next successful login.
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties passwordHashingProperties) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(
+                BCryptStrengthCalibrator.resolveStrength(passwordHashingProperties)
+        );
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(
+                BCRYPT_ENCODER_ID,
+                Map.of(BCRYPT_ENCODER_ID, bcrypt)
+        );
+        passwordEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return passwordEncoder;
+    }
+
+    /**
+     * Role checks in {@code @PreAuthorize} compare the caller's role bitmask instead of authority strings.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    static MethodSecurityExpressionHandler methodSecurityExpressionHandler(RoleAuthorityRegistry roleAuthorityRegistry) {
+        return new RoleMaskMethodSecurityExpressionHandler(roleAuthorityRegistry);
     }
 
     @Bean
@@ -47,10 +77,12 @@ public class SecurityConfig {
                         .requestMatchers(
                                 "/auth/login",
                                 "/auth/refresh_token",
+                                "/auth/logout",
                                 "/password/forgot",
                                 "/password/resend_otp",
                                 "/password/verify_otp",
                                 "/password/reset",
+                                "/.well-known/jwks.json",
                                 "/error",
                                 "/swagger-docs/**",
                                 "/swagger-ui/**",
@@ -0,0 +1,41 @@
+package com.fernirx.lms.infrastructure.config;
+
+import com.fernirx.lms.infrastructure.persistence.SqlStatementCounter;
+import com.fernirx.lms.infrastructure.persistence.SqlStatementGuardFilter;
+import com.fernirx.lms.infrastructure.properties.SqlStatementGuardProperties;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Per-request SQL statement budget, off unless {@code application.jpa.statement-guard.enabled} is set.
+ * The filter runs ahead of the security chain, so statements issued while authenticating are counted too.
+ * It only logs; tests such as the user module's query count tests are what fail on an N+1 regression.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.jpa.statement-guard", name = "enabled", havingValue = "true")
+public class SqlStatementGuardConfig {
+
+    @Bean
+    public SqlStatementCounter sqlStatementCounter() {
+        return new SqlStatementCounter();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer(SqlStatementCounter counter) {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, counter);
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatementGuardFilter> sqlStatementGuardFilter(
+            SqlStatementCounter counter, SqlStatementGuardProperties properties) {
+        FilterRegistrationBean<SqlStatementGuardFilter> registration =
+                new FilterRegistrationBean<>(new SqlStatementGuardFilter(counter, properties));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,304 @@
+package com.fernirx.lms.infrastructure.message;
+
+import com.fernirx.lms.infrastructure.config.MailExecutorConfig;
+import com.fernirx.lms.infrastructure.properties.MailExecutorProperties;
+import com.fernirx.lms.infrastructure.properties.MailOutboxProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains {@code mail_outbox} in batches. Each batch is claimed with {@code FOR UPDATE SKIP LOCKED} and leased,
+ * so several instances can drain the same outbox without sending a message twice, and is then sent on the
+ * mail executor through {@link JavaMailSender#send(MimeMessage...)}, which reuses one SMTP connection for the
+ * whole batch. Batches run in parallel up to the executor's concurrency, and claims shrink to stay within
+ * {@code maxSendRate} when one is configured.
+ * <p>
+ * A poll never waits for its batches: the scheduler thread is shared with every other {@code @Scheduled} job,
+ * which a stalled SMTP server must not hold up. Instead the worker claims a batch only while the executor has
+ * a free slot (its concurrency plus queue capacity), and each batch renews its lease when its send starts,
+ * so a batch is never claimed again while it is being sent. A batch that waited past its lease is dropped
+ * unsent and left to whichever worker claims it next.
+ * Delivered rows are deleted; failed ones are retried with exponential backoff until
+ * {@code maxAttempts}, after which they stay as {@link OutboxMailStatus#FAILED} with their body cleared:
+ * bodies can hold credentials, such as the temporary password of a welcome email, which must not be kept.
+ * <p>
+ * Metrics: {@code mail.outbox.backlog}, {@code mail.outbox.sent}, {@code mail.outbox.failed{outcome=retry|dead}}
+ * and {@code mail.outbox.batch} for SMTP time per batch.
+ */
+@Slf4j
+@Component
+public class MailOutboxWorker {
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private final OutboxMailRepository outboxMailRepository;
+    private final JavaMailSender mailSender;
+    private final MailOutboxProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService mailExecutor;
+    // One permit per batch the executor can run or queue; held from claim until the batch is done
+    private final Semaphore dispatchSlots;
+    private final AtomicLong backlog = new AtomicLong();
+    private final Counter sentCounter;
+    private final Counter retryCounter;
+    private final Counter deadCounter;
+    private final Timer batchTimer;
+
+    // Send-rate budget; only touched by drain(), which never overlaps with itself
+    private double sendPermits;
+    private long permitsRefilledAt = System.nanoTime();
+
+    public MailOutboxWorker(OutboxMailRepository outboxMailRepository,
+                            JavaMailSender mailSender,
+                            MailOutboxProperties properties,
+                            PlatformTransactionManager transactionManager,
+                            @Qualifier(MailExecutorConfig.MAIL_EXECUTOR) ExecutorService mailExecutor,
+                            MailExecutorProperties executorProperties,
+                            MeterRegistry meterRegistry) {
+        this.outboxMailRepository = outboxMailRepository;
+        this.mailSender = mailSender;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.mailExecutor = mailExecutor;
+        this.dispatchSlots = new Semaphore(executorProperties.getConcurrency() + executorProperties.getQueueCapacity());
+        this.sendPermits = properties.getMaxSendRate();
+
+        Gauge.builder("mail.outbox.backlog", backlog, AtomicLong::get)
+                .description("Messages waiting in the mail outbox, as of the last drain")
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder("mail.outbox.sent")
+                .description("Messages delivered from the mail outbox")
+                .register(meterRegistry);
+        this.retryCounter = failureCounter(meterRegistry, "retry");
+        this.deadCounter = failureCounter(meterRegistry, "dead");
+        this.batchTimer = Timer.builder("mail.outbox.batch")
+                .description("SMTP time to send one outbox batch")
+                .register(meterRegistry);
+    }
+
+    // ==== PUBLIC API ====
+
+    /**
+     * Claims batches while the mail executor has room for them and hands each over without waiting for it;
+     * batches still sending from earlier polls keep their slots, so a stalled server stops new claims.
+     */
+    @Scheduled(fixedDelayString = "${application.mail.outbox.poll-interval:PT2S}")
+    public void drain() {
+        int budget = availablePermits();
+        for (int i = 0; i < properties.getMaxBatchesPerRun(); i++) {
+            int limit = Math.min(properties.getBatchSize(), budget);
+            if (limit == 0) {
+                log.debug("Mail send rate reached, leaving the rest of the outbox for the next poll");
+                break;
+            }
+            if (!dispatchSlots.tryAcquire()) {
+                log.debug("Mail executor busy, leaving the rest of the outbox for the next poll");
+                break;
+            }
+            LocalDateTime leasedUntil = LocalDateTime.now().plus(properties.getLeaseDuration());
+            List<OutboxMail> batch = claim(limit, leasedUntil);
+            if (batch.isEmpty()) {
+                dispatchSlots.release();
+                break;
+            }
+            if (!dispatch(batch, leasedUntil)) {
+                break;
+            }
+            budget -= batch.size();
+            if (properties.getMaxSendRate() > 0) {
+                sendPermits -= batch.size();
+            }
+            if (batch.size() < limit) {
+                break;
+            }
+        }
+        backlog.set(outboxMailRepository.countByStatus(OutboxMailStatus.PENDING));
+    }
+
+    // ==== PRIVATE HELPERS ====
+
+    /**
+     * Tops up the send budget for the time since the last poll. Unused permits carry over for at most one
+     * second's worth, so an idle outbox cannot save up a burst above the configured rate.
+     */
+    private int availablePermits() {
+        int rate = properties.getMaxSendRate();
+        if (rate == 0) {
+            return Integer.MAX_VALUE;
+        }
+        long now = System.nanoTime();
+        sendPermits = Math.min(sendPermits, rate) + (now - permitsRefilledAt) * rate / NANOS_PER_SECOND;
+        permitsRefilledAt = now;
+        return (int) sendPermits;
+    }
+
+    private List<OutboxMail> claim(int limit, LocalDateTime leasedUntil) {
+        return transactionTemplate.execute(status -> {
+            List<OutboxMail> due = outboxMailRepository.lockDue(LocalDateTime.now(), limit);
+            if (!due.isEmpty()) {
+                outboxMailRepository.lease(ids(due), leasedUntil);
+            }
+            return due;
+        });
+    }
+
+    /**
+     * @return whether the executor took the batch; if not, the batch is released for the next poll
+     */
+    private boolean dispatch(List<OutboxMail> batch, LocalDateTime leasedUntil) {
+        try {
+            CompletableFuture.runAsync(() -> send(batch, leasedUntil), mailExecutor)
+                    .whenComplete((result, failure) -> {
+                        dispatchSlots.release();
+                        if (failure != null) {
+                            // Unsent rows keep their lease and are picked up again when it runs out
+                            log.error("Mail outbox batch failed", failure.getCause());
+                        }
+                    });
+            return true;
+        } catch (RejectedExecutionException e) {
+            dispatchSlots.release();
+            release(batch);
+            log.debug("Mail executor saturated, leaving {} emails for the next poll", batch.size());
+            return false;
+        }
+    }
+
+    /**
+     * Renews the lease for the send, unless it ran out while the batch waited for a sender: by then another
+     * worker may have claimed the rows, and sending them too could deliver them twice.
+     */
+    private void send(List<OutboxMail> batch, LocalDateTime leasedUntil) {
+        LocalDateTime now = LocalDateTime.now();
+        if (!now.isBefore(leasedUntil)) {
+            log.warn("Lease on {} emails ran out before they could be sent, leaving them to the next claim",
+                    batch.size());
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> outboxMailRepository.lease(ids(batch),
+                now.plus(properties.getLeaseDuration())));
+        deliver(batch);
+    }
+
+    private void release(List<OutboxMail> batch) {
+        transactionTemplate.executeWithoutResult(status -> outboxMailRepository.lease(ids(batch),
+                LocalDateTime.now()));
+    }
+
+    private void deliver(List<OutboxMail> batch) {
+        Map<MimeMessage, OutboxMail> messages = new LinkedHashMap<>();
+        Map<OutboxMail, Exception> failures = new HashMap<>();
+        for (OutboxMail mail : batch) {
+            try {
+                messages.put(toMimeMessage(mail), mail);
+            } catch (MessagingException e) {
+                failures.put(mail, e);
+            }
+        }
+
+        if (!messages.isEmpty()) {
+            Timer.Sample sample = Timer.start();
+            try {
+                mailSender.send(messages.keySet().toArray(MimeMessage[]::new));
+            } catch (MailSendException e) {
+                Map<Object, Exception> failedMessages = e.getFailedMessages();
+                if (failedMessages.isEmpty()) {
+                    messages.values().forEach(mail -> failures.put(mail, e));
+                } else {
+                    failedMessages.forEach((message, cause) -> failures.put(messages.get(message), cause));
+                }
+            } catch (MailException e) {
+                messages.values().forEach(mail -> failures.put(mail, e));
+            } finally {
+                sample.stop(batchTimer);
+            }
+        }
+
+        List<Long> delivered = new ArrayList<>();
+        for (OutboxMail mail : batch) {
+            if (!failures.containsKey(mail)) {
+                delivered.add(mail.getId());
+            }
+        }
+        failures.forEach(this::recordFailure);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxMailRepository.deleteAllByIdInBatch(delivered);
+            outboxMailRepository.saveAll(failures.keySet());
+        });
+        sentCounter.increment(delivered.size());
+    }
+
+    private MimeMessage toMimeMessage(OutboxMail mail) throws MessagingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true);
+        helper.setTo(mail.getRecipient());
+        helper.setSubject(mail.getSubject());
+        helper.setText(mail.getBody(), true);
+        return mimeMessage;
+    }
+
+    private void recordFailure(OutboxMail mail, Exception cause) {
+        int attempts = mail.getAttempts() + 1;
+        mail.setAttempts(attempts);
+        mail.setLastError(truncate(String.valueOf(cause.getMessage())));
+        if (attempts >= properties.getMaxAttempts()) {
+            mail.setStatus(OutboxMailStatus.FAILED);
+            mail.setBody("");
+            deadCounter.increment();
+            log.error("Giving up on email {} to {} after {} attempts", mail.getId(), mail.getRecipient(), attempts, cause);
+        } else {
+            mail.setNextAttemptAt(LocalDateTime.now().plus(backoff(attempts)));
+            retryCounter.increment();
+            log.warn("Failed to send email {} to {}, attempt {}: {}", mail.getId(), mail.getRecipient(), attempts,
+                    cause.getMessage());
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration max = properties.getMaxBackoff();
+        Duration backoff = properties.getInitialBackoff();
+        for (int i = 1; i < attempts && backoff.compareTo(max) < 0; i++) {
+            backoff = backoff.multipliedBy(2);
+        }
+        return backoff.compareTo(max) < 0 ? backoff : max;
+    }
+
+    private static List<Long> ids(List<OutboxMail> batch) {
+        return batch.stream().map(OutboxMail::getId).toList();
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private static Counter failureCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("mail.outbox.failed")
+                .tag("outcome", outcome)
+                .description("Failed outbox deliveries, retried later or given up")
+                .register(meterRegistry);
+    }
+}
@@ -2,61 +2,108 @@ package com.fernirx.lms.infrastructure.message;
 
 import com.fernirx.lms.infrastructure.properties.FrontendProperties;
 import com.fernirx.lms.infrastructure.properties.OtpProperties;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.context.Context;
-import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class MailService {
-    private final JavaMailSender mailSender;
-    private final SpringTemplateEngine templateEngine;
+    private static final String RESET_PASSWORD_SUBJECT = "LMS System - Password Reset OTP";
+    private static final String WELCOME_SUBJECT = "Welcome to LMS System";
+    private static final String INSERT_BULK_SQL = "INSERT INTO mail_outbox " +
+            "(recipient, subject, body, status, attempts, next_attempt_at, job_id) VALUES (?, ?, ?, 'PENDING', 0, ?, ?)";
+
+    private final OutboxMailRepository outboxMailRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final MailTemplateRenderer mailTemplateRenderer;
     private final OtpProperties otpProperties;
     private final FrontendProperties frontendProperties;
 
-    @Async
+    private MailTemplateRenderer.CompiledMailTemplate resetPasswordTemplate;
+    private MailTemplateRenderer.CompiledMailTemplate welcomeTemplate;
+
+    @PostConstruct
+    public void compileTemplates() {
+        this.resetPasswordTemplate = mailTemplateRenderer.compile(
+                "emails/reset-password-otp",
+                Map.of("expirationMinutes", otpProperties.getExpireAfterWrite().toMinutes()),
+                "userName", "otpCode");
+        this.welcomeTemplate = mailTemplateRenderer.compile(
+                "emails/new-user-account",
+                Map.of("loginUrl", frontendProperties.getLoginUrl()),
+                "userName", "username", "temporaryPassword");
+    }
+
+    /**
+     * Queues the email in the outbox for {@link MailOutboxWorker} to deliver. Joins the caller's transaction,
+     * so an email about a change is only sent if that change commits.
+     */
+    @Transactional
     public void sendMail(String to, String subject, String htmlContent) {
-        try {
-            MimeMessage mimeMessage = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true);
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(htmlContent, true);
-            mailSender.send(mimeMessage);
-            log.info("Email sent successfully to: {}", to);
-        } catch (MessagingException e) {
-            log.error("Failed to send email to: {}", to, e);
-        }
+        OutboxMail mail = new OutboxMail();
+        mail.setRecipient(to);
+        mail.setSubject(subject);
+        mail.setBody(htmlContent);
+        mail.setNextAttemptAt(LocalDateTime.now());
+        outboxMailRepository.save(mail);
+        log.debug("Email queued for: {}", to);
+    }
+
+    /**
+     * Queues one message per recipient of a fan-out job as a single JDBC batch, which the driver rewrites
+     * into multi-row inserts; {@code IDENTITY} ids would otherwise force one statement per message through JPA.
+     * Joins the caller's transaction like {@link #sendMail}.
+     */
+    @Transactional
+    public void sendBulk(long jobId, String subject, List<RenderedMail> mails) {
+        insertBatch(jobId, subject, mails);
+        log.debug("{} emails queued for job {}", mails.size(), jobId);
+    }
+
+    /**
+     * Queues welcome emails for accounts created together, such as one chunk of a user import, as one batch
+     * like {@link #sendBulk}.
+     */
+    @Transactional
+    public void sendWelcomeEmails(List<WelcomeMail> accounts) {
+        List<RenderedMail> mails = accounts.stream()
+                .map(account -> new RenderedMail(account.recipient(), welcomeTemplate.render(
+                        account.username(), account.username(), account.temporaryPassword())))
+                .toList();
+        insertBatch(null, WELCOME_SUBJECT, mails);
+        log.debug("{} welcome emails queued", mails.size());
     }
 
-    @Async
     public void sendResetPassword(String to, String userName, String otpCode) {
-        String subject = "LMS System - Password Reset OTP";
-        Context context = new Context();
-        context.setVariable("userName", userName);
-        context.setVariable("otpCode", otpCode);
-        context.setVariable("expirationMinutes", otpProperties.getExpireAfterWrite().toMinutes());
-        String htmlContent = templateEngine.process("emails/reset-password-otp", context);
-        sendMail(to, subject, htmlContent);
+        sendMail(to, RESET_PASSWORD_SUBJECT, resetPasswordTemplate.render(userName, otpCode));
     }
 
-    @Async
     public void sendWelcomeEmail(String to, String username, String newPassword) {
-        String subject = "Welcome to LMS System";
-        Context context = new Context();
-        context.setVariable("username", username);
-        context.setVariable("username", username);
-        context.setVariable("temporaryPassword", newPassword);
-        context.setVariable("loginUrl", frontendProperties.getLoginUrl());
-        String htmlContent = templateEngine.process("emails/new-user-account", context);
-        sendMail(to, subject, htmlContent);
+        // The greeting uses userName and the credentials box uses username; both show the login name
+        sendMail(to, WELCOME_SUBJECT, welcomeTemplate.render(username, username, newPassword));
+    }
+
+    // ==== PRIVATE HELPERS ====
+
+    private void insertBatch(Long jobId, String subject, List<RenderedMail> mails) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_BULK_SQL, mails, mails.size(), (ps, mail) -> {
+            ps.setString(1, mail.recipient());
+            ps.setString(2, subject);
+            ps.setString(3, mail.body());
+            ps.setTimestamp(4, now);
+            ps.setObject(5, jobId, Types.BIGINT);
+        });
     }
 }
\ No newline at end of file
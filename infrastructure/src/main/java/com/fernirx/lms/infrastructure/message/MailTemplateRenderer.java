@@ -0,0 +1,123 @@
+package com.fernirx.lms.infrastructure.message;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.unbescape.html.HtmlEscape;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles Thymeleaf email templates once into static HTML segments with per-recipient slots.
+ * The template is processed a single time with a marker in place of each variable, and the output is split at
+ * the markers; rendering a message then only escapes and concatenates the recipient's values into a reused
+ * per-thread buffer. Values that are the same for every message, such as URLs from configuration, are bound
+ * at compile time and become part of the static segments.
+ */
+@Component
+@RequiredArgsConstructor
+public class MailTemplateRenderer {
+    private static final String MARKER_PREFIX = "@@lms-slot-";
+    private static final String MARKER_SUFFIX = "@@";
+    private static final int INITIAL_BUFFER_SIZE = 16 * 1024;
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(INITIAL_BUFFER_SIZE));
+
+    private final SpringTemplateEngine templateEngine;
+
+    /**
+     * @param templateName Thymeleaf template, such as {@code emails/reset-password-otp}
+     * @param constants    variables with the same value for every message
+     * @param variables    per-recipient variables, in the order their values are passed to {@link CompiledMailTemplate#render}
+     */
+    public CompiledMailTemplate compile(String templateName, Map<String, ?> constants, String... variables) {
+        // Constants may carry user text, such as a notification body, so markers are unique per compilation
+        String prefix = MARKER_PREFIX + Long.toHexString(ThreadLocalRandom.current().nextLong()) + "-";
+        Pattern marker = Pattern.compile(Pattern.quote(prefix) + "(\\d+)" + Pattern.quote(MARKER_SUFFIX));
+        Context context = new Context();
+        constants.forEach(context::setVariable);
+        for (int i = 0; i < variables.length; i++) {
+            context.setVariable(variables[i], prefix + i + MARKER_SUFFIX);
+        }
+        String html = templateEngine.process(templateName, context);
+
+        List<String> segments = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        boolean[] used = new boolean[variables.length];
+        Matcher matcher = marker.matcher(html);
+        int start = 0;
+        while (matcher.find()) {
+            int slot = Integer.parseInt(matcher.group(1));
+            segments.add(html.substring(start, matcher.start()));
+            slots.add(slot);
+            used[slot] = true;
+            start = matcher.end();
+        }
+        segments.add(html.substring(start));
+
+        for (int i = 0; i < variables.length; i++) {
+            if (!used[i]) {
+                throw new IllegalStateException("Template " + templateName + " does not use variable " + variables[i]);
+            }
+        }
+        return new CompiledMailTemplate(
+                templateName,
+                segments.toArray(String[]::new),
+                slots.stream().mapToInt(Integer::intValue).toArray(),
+                variables.length);
+    }
+
+    /**
+     * A compiled template: {@code segments[i]} is followed by the value of slot {@code slots[i]}.
+     */
+    public static final class CompiledMailTemplate {
+        private final String templateName;
+        private final String[] segments;
+        private final int[] slots;
+        private final int variableCount;
+        private final int staticLength;
+
+        private CompiledMailTemplate(String templateName, String[] segments, int[] slots, int variableCount) {
+            this.templateName = templateName;
+            this.segments = segments;
+            this.slots = slots;
+            this.variableCount = variableCount;
+            int length = 0;
+            for (String segment : segments) {
+                length += segment.length();
+            }
+            this.staticLength = length;
+        }
+
+        /**
+         * Renders the template with HTML-escaped values, as {@code th:text} would.
+         */
+        public String render(String... values) {
+            if (values.length != variableCount) {
+                throw new IllegalArgumentException("Template " + templateName + " expects " + variableCount + " values");
+            }
+            StringBuilder buffer = BUFFER.get();
+            buffer.setLength(0);
+            buffer.ensureCapacity(staticLength + 256);
+            for (int i = 0; i < slots.length; i++) {
+                buffer.append(segments[i]);
+                String value = values[slots[i]];
+                if (value != null) {
+                    buffer.append(HtmlEscape.escapeHtml4Xml(value));
+                }
+            }
+            buffer.append(segments[segments.length - 1]);
+            String html = buffer.toString();
+            if (buffer.capacity() > INITIAL_BUFFER_SIZE * 4) {
+                // Do not pin an oversized buffer to the thread after an unusually large message
+                BUFFER.remove();
+            }
+            return html;
+        }
+    }
+}
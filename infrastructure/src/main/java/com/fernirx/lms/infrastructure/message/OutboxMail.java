@@ -0,0 +1,66 @@
+package com.fernirx.lms.infrastructure.message;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * One rendered email waiting in {@code mail_outbox}. Rows are deleted once delivered;
+ * only messages that exhausted their retries stay behind, as {@link OutboxMailStatus#FAILED}
+ * with an empty body, so no password or OTP outlives the delivery attempts.
+ */
+@Entity
+@Table(name = "mail_outbox")
+@Getter
+@Setter
+public class OutboxMail {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @NotNull
+    @Column(name = "recipient", nullable = false, length = 100)
+    private String recipient;
+
+    @NotNull
+    @Column(name = "subject", nullable = false)
+    private String subject;
+
+    @NotNull
+    @Lob
+    @Column(name = "body", nullable = false, columnDefinition = "MEDIUMTEXT")
+    private String body;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private OutboxMailStatus status = OutboxMailStatus.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    /**
+     * When the message may next be claimed; moved forward while a worker holds it and after each failure.
+     */
+    @NotNull
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    /**
+     * Notification fan-out job that queued the message, {@code null} for single emails.
+     */
+    @Column(name = "job_id")
+    private Long jobId;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
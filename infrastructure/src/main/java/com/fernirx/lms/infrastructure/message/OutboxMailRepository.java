@@ -0,0 +1,39 @@
+package com.fernirx.lms.infrastructure.message;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxMailRepository extends JpaRepository<OutboxMail, Long> {
+
+    /**
+     * Lock up to {@code limit} due messages, skipping rows another worker already holds
+     */
+    @Query(value = "SELECT * FROM mail_outbox WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at, id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxMail> lockDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Hide claimed messages from other workers until {@code leaseUntil}
+     */
+    @Modifying
+    @Query("UPDATE OutboxMail m SET m.nextAttemptAt = :leaseUntil WHERE m.id IN :ids")
+    int lease(@Param("ids") Collection<Long> ids, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * Count messages still waiting to be delivered
+     */
+    long countByStatus(OutboxMailStatus status);
+
+    /**
+     * Count messages of one fan-out job in the given state
+     */
+    long countByJobIdAndStatus(Long jobId, OutboxMailStatus status);
+}
@@ -0,0 +1,6 @@
+package com.fernirx.lms.infrastructure.message;
+
+public enum OutboxMailStatus {
+    PENDING,
+    FAILED
+}
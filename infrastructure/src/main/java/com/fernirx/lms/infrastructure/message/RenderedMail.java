@@ -0,0 +1,7 @@
+package com.fernirx.lms.infrastructure.message;
+
+/**
+ * One recipient's copy of a bulk email, as passed to {@link MailService#sendBulk}.
+ */
+public record RenderedMail(String recipient, String body) {
+}
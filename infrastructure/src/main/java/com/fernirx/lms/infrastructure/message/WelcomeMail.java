@@ -0,0 +1,7 @@
+package com.fernirx.lms.infrastructure.message;
+
+/**
+ * A new account's welcome email, before rendering.
+ */
+public record WelcomeMail(String recipient, String username, String temporaryPassword) {
+}
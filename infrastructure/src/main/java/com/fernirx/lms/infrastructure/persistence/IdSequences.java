@@ -0,0 +1,32 @@
+package com.fernirx.lms.infrastructure.persistence;
+
+/**
+ * Shared settings for entity ids drawn from the {@code id_sequences} table, one row per entity table.
+ * <p>
+ * An entity opts in with a {@code TABLE} generator whose {@code pkColumnValue} is its table name:
+ * <pre>{@code
+ * @Id
+ * @GeneratedValue(strategy = GenerationType.TABLE, generator = "users_id")
+ * @TableGenerator(name = "users_id", table = IdSequences.TABLE, pkColumnName = IdSequences.NAME_COLUMN,
+ *         valueColumnName = IdSequences.VALUE_COLUMN, pkColumnValue = "users",
+ *         allocationSize = IdSequences.ALLOCATION_SIZE)
+ * private Long id;
+ * }</pre>
+ * Each node reserves {@link #ALLOCATION_SIZE} ids at a time by locking and advancing the row in its own short
+ * transaction, then hands them out from memory, so several nodes can insert into the same table without
+ * clashing. Unlike {@code IDENTITY}, the id is known before the insert, which lets Hibernate batch inserts
+ * ({@code hibernate.jdbc.batch_size}). Ids are unique but not gap-free: a restart abandons the rest of a block.
+ * <p>
+ * Every insert into such a table must go through Hibernate. Tables that are also written with plain JDBC,
+ * like {@code mail_outbox}, keep {@code AUTO_INCREMENT}, as does {@code roles}, whose ids must stay small.
+ * New rows need a seed in {@code database/init/03_create_id_sequences.sql}, above the table's current maximum id.
+ */
+public final class IdSequences {
+    public static final String TABLE = "id_sequences";
+    public static final String NAME_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdSequences() {
+    }
+}
@@ -0,0 +1,33 @@
+package com.fernirx.lms.infrastructure.persistence;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the statements Hibernate prepares on the current thread while a scope is open. Statements outside
+ * a scope, such as those from scheduled jobs, are not counted.
+ */
+public class SqlStatementCounter implements StatementInspector {
+    private final ThreadLocal<int[]> count = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] current = count.get();
+        if (current != null) {
+            current[0]++;
+        }
+        return sql;
+    }
+
+    public void open() {
+        count.set(new int[1]);
+    }
+
+    /**
+     * @return statements counted since {@link #open()}, or {@code 0} if no scope was open
+     */
+    public int close() {
+        int[] current = count.get();
+        count.remove();
+        return current == null ? 0 : current[0];
+    }
+}
@@ -0,0 +1,46 @@
+package com.fernirx.lms.infrastructure.persistence;
+
+import com.fernirx.lms.infrastructure.properties.SqlStatementGuardProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Opens a {@link SqlStatementCounter} scope around each request and logs a warning for requests that issue more
+ * than {@code maxStatementsPerRequest} statements, which usually means a lazy association is loaded per row.
+ * <p>
+ * A diagnostic only: the response is already committed when the count is known, and work the request hands to
+ * another thread (an async login, a streamed export) is not counted, so async requests are not reported.
+ * Query budgets are enforced by tests.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SqlStatementGuardFilter extends OncePerRequestFilter {
+    private final SqlStatementCounter counter;
+    private final SqlStatementGuardProperties properties;
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        counter.open();
+        int statements;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            statements = counter.close();
+        }
+        // An async request finishes on another thread, so the count would be partial
+        if (!request.isAsyncStarted() && statements > properties.getMaxStatementsPerRequest()) {
+            log.warn("{} {} issued {} SQL statements, more than the limit of {}", request.getMethod(),
+                    request.getRequestURI(), statements, properties.getMaxStatementsPerRequest());
+        }
+    }
+}
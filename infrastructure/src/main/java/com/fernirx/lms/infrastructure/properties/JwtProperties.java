@@ -1,5 +1,7 @@
 package com.fernirx.lms.infrastructure.properties;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
@@ -7,16 +9,22 @@ import org.hibernate.validator.constraints.time.DurationMax;
 import org.hibernate.validator.constraints.time.DurationMin;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.convert.DurationUnit;
+import org.springframework.util.StringUtils;
 import org.springframework.validation.annotation.Validated;
 
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 
 @Data
 @Validated
 @ConfigurationProperties(prefix = "application.security.jwt")
 public class JwtProperties {
-    @NotBlank(message = "JWT secret cannot be blank")
+    /**
+     * HMAC secret. Signs tokens only when no asymmetric {@link #keys} are configured; otherwise it is kept
+     * solely to verify tokens issued before the switch and can be removed once they have expired.
+     */
     private String secret;
 
     @NotNull(message = "JWT expiration must be set")
@@ -36,4 +44,54 @@ public class JwtProperties {
 
     @NotBlank(message = "JWT issuer cannot be blank")
     private String issuer;
+
+    /**
+     * Rebuilds the principal from verified access-token claims instead of loading the user on every request.
+     */
+    private boolean stateless = false;
+
+    /**
+     * Asymmetric key ring. Keys without a private key only verify tokens signed before a rotation.
+     */
+    @Valid
+    private List<SigningKey> keys = new ArrayList<>();
+
+    /**
+     * Key id used to sign new tokens. Defaults to the first key that carries a private key.
+     */
+    private String activeKeyId;
+
+    @NotNull(message = "JWKS max age must be set")
+    @DurationMax(days = 1, message = "JWKS max age cannot exceed 1 day")
+    private Duration jwksMaxAge = Duration.ofMinutes(15);
+
+    @AssertTrue(message = "JWT secret or at least one signing key must be configured")
+    public boolean isSigningKeyConfigured() {
+        return StringUtils.hasText(secret) || !keys.isEmpty();
+    }
+
+    @Data
+    public static class SigningKey {
+        @NotBlank(message = "JWT key id cannot be blank")
+        private String kid;
+
+        @NotNull(message = "JWT key algorithm must be set")
+        private Algorithm algorithm = Algorithm.ES256;
+
+        /**
+         * Base64 encoded PKCS#8 private key.
+         */
+        private String privateKey;
+
+        /**
+         * Base64 encoded X.509 public key.
+         */
+        @NotBlank(message = "JWT public key cannot be blank")
+        private String publicKey;
+    }
+
+    public enum Algorithm {
+        ES256,
+        EdDSA
+    }
 }
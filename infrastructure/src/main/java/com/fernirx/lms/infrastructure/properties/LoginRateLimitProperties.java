@@ -0,0 +1,60 @@
+package com.fernirx.lms.infrastructure.properties;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.hibernate.validator.constraints.time.DurationMax;
+import org.hibernate.validator.constraints.time.DurationMin;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "application.security.login-rate-limit")
+public class LoginRateLimitProperties {
+    private boolean enabled = true;
+
+    /**
+     * Login attempts a single client IP may burst before it is throttled.
+     */
+    @Min(value = 1, message = "IP login capacity must be at least 1")
+    private int ipCapacity = 20;
+
+    @NotNull(message = "IP login refill period must be set")
+    @DurationMin(seconds = 1, message = "IP login refill period must be at least 1 second")
+    private Duration ipRefillPeriod = Duration.ofMinutes(1);
+
+    /**
+     * Login attempts a single username may burst before it is throttled, whichever IPs they come from.
+     */
+    @Min(value = 1, message = "Username login capacity must be at least 1")
+    private int usernameCapacity = 10;
+
+    @NotNull(message = "Username login refill period must be set")
+    @DurationMin(seconds = 1, message = "Username login refill period must be at least 1 second")
+    private Duration usernameRefillPeriod = Duration.ofMinutes(1);
+
+    /**
+     * Consecutive failed logins after which the username is locked out.
+     */
+    @Min(value = 1, message = "Lockout threshold must be at least 1")
+    private int lockoutThreshold = 5;
+
+    /**
+     * First lockout duration; it doubles with each further failure up to {@link #maxLockoutDuration}.
+     */
+    @NotNull(message = "Lockout duration must be set")
+    @DurationMin(seconds = 1, message = "Lockout duration must be at least 1 second")
+    private Duration lockoutDuration = Duration.ofSeconds(30);
+
+    @NotNull(message = "Maximum lockout duration must be set")
+    @DurationMax(hours = 24, message = "Maximum lockout duration cannot exceed 24 hours")
+    private Duration maxLockoutDuration = Duration.ofMinutes(30);
+
+    @Min(value = 1_000, message = "Login rate limit maximum keys must be at least 1,000")
+    @Max(value = 10_000_000, message = "Login rate limit maximum keys cannot exceed 10,000,000")
+    private int maximumKeys = 100_000;
+}
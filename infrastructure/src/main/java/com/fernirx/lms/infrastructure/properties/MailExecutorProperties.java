@@ -0,0 +1,39 @@
+package com.fernirx.lms.infrastructure.properties;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "application.mail.executor")
+public class MailExecutorProperties {
+    /**
+     * {@code platform} runs SMTP sends on a small pool of OS threads; {@code virtual} runs them on virtual threads,
+     * which release their carrier while blocked on the SMTP socket, so a higher concurrency costs little.
+     */
+    @NotNull(message = "Mail executor mode must be set")
+    private Mode mode = Mode.PLATFORM;
+
+    /**
+     * Batches sent at the same time, each over its own SMTP connection.
+     */
+    @Min(value = 1, message = "Mail executor concurrency must be at least 1")
+    @Max(value = 256, message = "Mail executor concurrency cannot exceed 256")
+    private int concurrency = 4;
+
+    /**
+     * Claimed batches that may wait for a sender; beyond this the worker stops claiming until the next poll.
+     */
+    @Min(value = 0, message = "Mail executor queue capacity must be >= 0")
+    @Max(value = 1_000, message = "Mail executor queue capacity cannot exceed 1,000")
+    private int queueCapacity = 8;
+
+    public enum Mode {
+        PLATFORM,
+        VIRTUAL
+    }
+}
@@ -0,0 +1,61 @@
+package com.fernirx.lms.infrastructure.properties;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.hibernate.validator.constraints.time.DurationMin;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "application.mail.outbox")
+public class MailOutboxProperties {
+    /**
+     * Messages claimed at once and sent over a single SMTP connection.
+     */
+    @Min(value = 1, message = "Mail outbox batch size must be at least 1")
+    @Max(value = 500, message = "Mail outbox batch size cannot exceed 500")
+    private int batchSize = 50;
+
+    /**
+     * Upper bound on batches claimed per poll, so one run cannot hold the scheduler thread with claim queries.
+     */
+    @Min(value = 1, message = "Mail outbox batches per run must be at least 1")
+    private int maxBatchesPerRun = 20;
+
+    /**
+     * Messages handed to SMTP per second across all batches, to stay under the provider's sending limit;
+     * {@code 0} disables the limit.
+     */
+    @Min(value = 0, message = "Mail outbox send rate cannot be negative")
+    private int maxSendRate = 0;
+
+    /**
+     * Delivery attempts before a message is marked failed and left for inspection.
+     */
+    @Min(value = 1, message = "Mail outbox max attempts must be at least 1")
+    @Max(value = 50, message = "Mail outbox max attempts cannot exceed 50")
+    private int maxAttempts = 8;
+
+    /**
+     * Delay after the first failure; it doubles with each further failure up to {@link #maxBackoff}.
+     */
+    @NotNull(message = "Mail outbox initial backoff must be set")
+    @DurationMin(seconds = 1, message = "Mail outbox initial backoff must be at least 1 second")
+    private Duration initialBackoff = Duration.ofSeconds(30);
+
+    @NotNull(message = "Mail outbox maximum backoff must be set")
+    private Duration maxBackoff = Duration.ofHours(1);
+
+    /**
+     * How long a claimed message stays hidden from other workers; a worker that dies mid-batch
+     * releases its messages when this runs out.
+     */
+    @NotNull(message = "Mail outbox lease duration must be set")
+    @DurationMin(seconds = 10, message = "Mail outbox lease duration must be at least 10 seconds")
+    private Duration leaseDuration = Duration.ofMinutes(5);
+}
@@ -0,0 +1,42 @@
+package com.fernirx.lms.infrastructure.properties;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "application.notification")
+public class NotificationProperties {
+    /**
+     * Recipients read, rendered and queued per checkpoint; bounds the memory one job holds at a time.
+     */
+    @Min(value = 1, message = "Notification page size must be at least 1")
+    @Max(value = 5000, message = "Notification page size cannot exceed 5000")
+    private int pageSize = 500;
+
+    /**
+     * Threads rendering a page in parallel; {@code 0} uses one per available CPU.
+     */
+    @Min(value = 0, message = "Notification render parallelism cannot be negative")
+    private int renderParallelism = 0;
+
+    /**
+     * Jobs pause while the mail outbox holds this many pending messages, so the outbox stays shallow and
+     * password-reset and welcome emails never queue behind a whole cohort.
+     */
+    @Min(value = 1, message = "Notification outbox backlog limit must be at least 1")
+    private int maxOutboxBacklog = 1000;
+
+    /**
+     * Consecutive failed pages before a job is marked failed.
+     */
+    @Min(value = 1, message = "Notification max attempts must be at least 1")
+    private int maxAttempts = 5;
+
+    public int resolvedRenderParallelism() {
+        return renderParallelism > 0 ? renderParallelism : Runtime.getRuntime().availableProcessors();
+    }
+}
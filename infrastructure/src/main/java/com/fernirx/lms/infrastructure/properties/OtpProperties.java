@@ -9,6 +9,7 @@ import org.hibernate.validator.constraints.time.DurationMax;
 import org.hibernate.validator.constraints.time.DurationMin;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.convert.DurationUnit;
+import org.springframework.util.unit.DataSize;
 import org.springframework.validation.annotation.Validated;
 
 import java.time.Duration;
@@ -22,6 +23,9 @@ public class OtpProperties {
     @Max(value = 100_000, message = "Maximum size cannot exceed 100,000")
     private int maximumSize;
 
+    @NotNull(message = "Maximum memory must be set")
+    private DataSize maximumMemory = DataSize.ofMegabytes(2);
+
     @NotNull(message = "Expire-after-write must be set")
     @DurationMax(minutes = 60, message = "Expire-after-write cannot exceed 60 minutes")
     private Duration expireAfterWrite;
@@ -44,4 +48,22 @@ public class OtpProperties {
     @PositiveOrZero(message = "Initial capacity must be >= 0")
     @Max(value = 10_000, message = "Initial capacity cannot exceed 10,000")
     private int initialCapacity;
+
+    /**
+     * {@code caffeine} keeps OTPs on the node that issued them; {@code database} shares them between instances.
+     */
+    @NotNull(message = "OTP store must be set")
+    private Store store = Store.CAFFEINE;
+
+    @NotNull(message = "Near-cache TTL must be set")
+    @DurationMax(seconds = 60, message = "Near-cache TTL cannot exceed 60 seconds")
+    private Duration nearCacheTtl = Duration.ofSeconds(5);
+
+    @Min(value = 1, message = "Purge batch size must be at least 1")
+    private int purgeBatchSize = 1_000;
+
+    public enum Store {
+        CAFFEINE,
+        DATABASE
+    }
 }
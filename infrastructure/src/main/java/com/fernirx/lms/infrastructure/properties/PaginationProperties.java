@@ -0,0 +1,38 @@
+package com.fernirx.lms.infrastructure.properties;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "application.pagination")
+public class PaginationProperties {
+    @Min(value = 1, message = "Default page size must be at least 1")
+    private int defaultPageSize = 50;
+
+    /**
+     * Largest page a client may request; larger requests are served this many items.
+     */
+    @Min(value = 1, message = "Maximum page size must be at least 1")
+    @Max(value = 1_000, message = "Maximum page size cannot exceed 1,000")
+    private int maxPageSize = 200;
+
+    @AssertTrue(message = "Default page size cannot exceed the maximum page size")
+    public boolean isPageSizeRangeValid() {
+        return defaultPageSize <= maxPageSize;
+    }
+
+    /**
+     * @param requested page size asked for by the client, or {@code null} for the default
+     */
+    public int resolvePageSize(Integer requested) {
+        if (requested == null) {
+            return defaultPageSize;
+        }
+        return Math.clamp(requested, 1, maxPageSize);
+    }
+}
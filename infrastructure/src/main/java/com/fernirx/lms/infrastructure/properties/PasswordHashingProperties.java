@@ -0,0 +1,64 @@
+package com.fernirx.lms.infrastructure.properties;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.hibernate.validator.constraints.time.DurationMax;
+import org.hibernate.validator.constraints.time.DurationMin;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "application.security.password-hashing")
+public class PasswordHashingProperties {
+    /**
+     * Worker threads verifying passwords; {@code 0} uses one per available CPU.
+     */
+    @Min(value = 0, message = "Password hashing pool size cannot be negative")
+    @Max(value = 256, message = "Password hashing pool size cannot exceed 256")
+    private int poolSize = 0;
+
+    /**
+     * Logins allowed to wait for a worker before new ones are rejected with 429.
+     */
+    @Min(value = 1, message = "Password hashing queue capacity must be at least 1")
+    @Max(value = 10_000, message = "Password hashing queue capacity cannot exceed 10,000")
+    private int queueCapacity = 64;
+
+    /**
+     * Fixed BCrypt cost; {@code 0} calibrates it at startup against {@link #targetHashTime}.
+     */
+    @Min(value = 0, message = "BCrypt strength cannot be negative")
+    @Max(value = 31, message = "BCrypt strength cannot exceed 31")
+    private int strength = 0;
+
+    /**
+     * Latency budget for a single hash, used by the startup calibration.
+     */
+    @NotNull(message = "Password hashing target time must be set")
+    @DurationMin(millis = 10, message = "Password hashing target time must be at least 10 milliseconds")
+    @DurationMax(seconds = 2, message = "Password hashing target time cannot exceed 2 seconds")
+    private Duration targetHashTime = Duration.ofMillis(250);
+
+    @Min(value = 4, message = "BCrypt minimum strength must be at least 4")
+    @Max(value = 31, message = "BCrypt minimum strength cannot exceed 31")
+    private int minStrength = 10;
+
+    @Min(value = 4, message = "BCrypt maximum strength must be at least 4")
+    @Max(value = 31, message = "BCrypt maximum strength cannot exceed 31")
+    private int maxStrength = 14;
+
+    @AssertTrue(message = "BCrypt minimum strength cannot exceed maximum strength")
+    public boolean isStrengthRangeValid() {
+        return minStrength <= maxStrength;
+    }
+
+    public int resolvedPoolSize() {
+        return poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+    }
+}
@@ -0,0 +1,42 @@
+package com.fernirx.lms.infrastructure.properties;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.hibernate.validator.constraints.time.DurationMin;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "application.security.password-reset-rate-limit")
+public class PasswordResetRateLimitProperties {
+    private boolean enabled = true;
+
+    /**
+     * Forgot-password and resend-OTP requests a single client IP may burst before it is throttled.
+     */
+    @Min(value = 1, message = "IP password reset capacity must be at least 1")
+    private int ipCapacity = 10;
+
+    @NotNull(message = "IP password reset refill period must be set")
+    @DurationMin(seconds = 1, message = "IP password reset refill period must be at least 1 second")
+    private Duration ipRefillPeriod = Duration.ofMinutes(15);
+
+    /**
+     * Forgot-password and resend-OTP requests for a single email, whichever IPs they come from.
+     */
+    @Min(value = 1, message = "Email password reset capacity must be at least 1")
+    private int emailCapacity = 5;
+
+    @NotNull(message = "Email password reset refill period must be set")
+    @DurationMin(seconds = 1, message = "Email password reset refill period must be at least 1 second")
+    private Duration emailRefillPeriod = Duration.ofMinutes(15);
+
+    @Min(value = 1_000, message = "Password reset rate limit maximum keys must be at least 1,000")
+    @Max(value = 10_000_000, message = "Password reset rate limit maximum keys cannot exceed 10,000,000")
+    private int maximumKeys = 100_000;
+}
@@ -0,0 +1,26 @@
+package com.fernirx.lms.infrastructure.properties;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "application.security.refresh-token")
+public class RefreshTokenProperties {
+    /**
+     * Upper bound for the in-process cache of consumed tokens and revoked families.
+     */
+    @Min(value = 1, message = "Refresh token cache size must be at least 1")
+    @Max(value = 1_000_000, message = "Refresh token cache size cannot exceed 1,000,000")
+    private int cacheMaximumSize = 100_000;
+
+    /**
+     * Rows deleted per statement when compacting expired refresh tokens.
+     */
+    @Min(value = 100, message = "Refresh token compaction batch size must be at least 100")
+    @Max(value = 50_000, message = "Refresh token compaction batch size cannot exceed 50,000")
+    private int compactionBatchSize = 1_000;
+}
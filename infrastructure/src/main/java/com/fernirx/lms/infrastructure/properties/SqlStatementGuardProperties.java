@@ -0,0 +1,19 @@
+package com.fernirx.lms.infrastructure.properties;
+
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "application.jpa.statement-guard")
+public class SqlStatementGuardProperties {
+    /**
+     * Counts the SQL statements each HTTP request issues through Hibernate.
+     */
+    private boolean enabled = false;
+
+    @Min(value = 1, message = "Max statements per request must be at least 1")
+    private int maxStatementsPerRequest = 10;
+}
@@ -0,0 +1,23 @@
+package com.fernirx.lms.infrastructure.properties;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "application.cache.token")
+public class TokenCacheProperties {
+    private boolean enabled = true;
+
+    @Min(value = 1, message = "Maximum size must be at least 1")
+    @Max(value = 1_000_000, message = "Maximum size cannot exceed 1,000,000")
+    private int maximumSize = 100_000;
+
+    @NotNull(message = "Maximum memory must be set")
+    private DataSize maximumMemory = DataSize.ofMegabytes(32);
+}
@@ -0,0 +1,25 @@
+package com.fernirx.lms.infrastructure.properties;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "application.security.denylist")
+public class TokenDenylistProperties {
+    /**
+     * Minimum number of entries the in-memory filter is sized for; it grows with the table on rebuild.
+     */
+    @Min(value = 100, message = "Denylist expected entries must be at least 100")
+    @Max(value = 10_000_000, message = "Denylist expected entries cannot exceed 10,000,000")
+    private int expectedEntries = 10_000;
+
+    @DecimalMin(value = "0.0001", message = "Denylist false positive rate must be at least 0.0001")
+    @DecimalMax(value = "0.5", message = "Denylist false positive rate cannot exceed 0.5")
+    private double falsePositiveRate = 0.01;
+}
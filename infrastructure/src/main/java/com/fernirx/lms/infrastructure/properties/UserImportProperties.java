@@ -0,0 +1,49 @@
+package com.fernirx.lms.infrastructure.properties;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "application.user-import")
+public class UserImportProperties {
+    /**
+     * Rows validated, hashed and inserted per transaction; bounds the memory one import holds at a time.
+     */
+    @Min(value = 1, message = "User import chunk size must be at least 1")
+    @Max(value = 5000, message = "User import chunk size cannot exceed 5000")
+    private int chunkSize = 500;
+
+    /**
+     * Threads hashing passwords for imports; {@code 0} uses half the available CPUs, leaving the rest for logins.
+     */
+    @Min(value = 0, message = "User import hash parallelism cannot be negative")
+    private int hashParallelism = 0;
+
+    /**
+     * Imports running at the same time.
+     */
+    @Min(value = 1, message = "Concurrent user imports must be at least 1")
+    @Max(value = 16, message = "Concurrent user imports cannot exceed 16")
+    private int maxConcurrentImports = 1;
+
+    /**
+     * Imports allowed to wait for a free slot before new ones are rejected with 429.
+     */
+    @Min(value = 0, message = "User import queue capacity must be >= 0")
+    @Max(value = 100, message = "User import queue capacity cannot exceed 100")
+    private int queueCapacity = 4;
+
+    /**
+     * Row errors stored per import; further failed rows are still counted.
+     */
+    @Min(value = 0, message = "User import max reported errors must be >= 0")
+    private int maxReportedErrors = 1000;
+
+    public int resolvedHashParallelism() {
+        return hashParallelism > 0 ? hashParallelism : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    }
+}
@@ -0,0 +1,28 @@
+package com.fernirx.lms.infrastructure.properties;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.hibernate.validator.constraints.time.DurationMax;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "application.cache.user-lookup")
+public class UserLookupCacheProperties {
+    @Min(value = 1, message = "User lookup cache maximum size must be at least 1")
+    @Max(value = 1_000_000, message = "User lookup cache maximum size cannot exceed 1,000,000")
+    private int maximumSize = 10_000;
+
+    /**
+     * How long a lookup, including "no such email", is reused. Writes on this instance evict immediately;
+     * other instances see the change once their entry expires.
+     */
+    @NotNull(message = "User lookup cache TTL must be set")
+    @DurationMax(minutes = 10, message = "User lookup cache TTL cannot exceed 10 minutes")
+    private Duration expireAfterWrite = Duration.ofMinutes(1);
+}
@@ -0,0 +1,61 @@
+package com.fernirx.lms.infrastructure.security;
+
+import com.fernirx.lms.infrastructure.properties.PasswordHashingProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Picks the highest BCrypt cost whose hash time on this machine stays within the configured budget.
+ * Each extra cost round doubles the work, so one measurement at the minimum cost is extrapolated
+ * and then confirmed, which keeps startup to a handful of hashes.
+ */
+@Slf4j
+public final class BCryptStrengthCalibrator {
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+    private static final int SAMPLES = 3;
+
+    private BCryptStrengthCalibrator() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    public static int resolveStrength(PasswordHashingProperties properties) {
+        if (properties.getStrength() > 0) {
+            return properties.getStrength();
+        }
+
+        long budgetNanos = properties.getTargetHashTime().toNanos();
+        int strength = properties.getMinStrength();
+        long measured = measure(strength);
+        while (strength < properties.getMaxStrength() && measured * 2 <= budgetNanos) {
+            strength++;
+            measured *= 2;
+        }
+        // Confirm the extrapolated cost and back off if this machine is slower than the doubling rule predicts
+        if (strength > properties.getMinStrength()) {
+            measured = measure(strength);
+            while (strength > properties.getMinStrength() && measured > budgetNanos) {
+                strength--;
+                measured /= 2;
+            }
+        }
+
+        log.info("Calibrated BCrypt strength {} (~{} ms per hash, budget {} ms)",
+                strength, measured / 1_000_000, properties.getTargetHashTime().toMillis());
+        return strength;
+    }
+
+    // ==== PRIVATE HELPERS ====
+
+    private static long measure(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        // The first hash includes class loading and JIT warm-up
+        encoder.encode(SAMPLE_PASSWORD);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
@@ -1,8 +1,10 @@
 package com.fernirx.lms.infrastructure.security;
 
 import com.fernirx.lms.common.constants.ApiConstants;
+import com.fernirx.lms.common.exceptions.RevokedTokenException;
 import com.fernirx.lms.common.exceptions.TokenException;
 import com.fernirx.lms.infrastructure.handler.JwtAuthenticationEntryPoint;
+import com.fernirx.lms.infrastructure.properties.JwtProperties;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -27,11 +29,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private static final List<String> SKIP_PATHS = List.of(
             ApiConstants.AUTH_PATH + ApiConstants.LOGIN_PATH,
-            ApiConstants.AUTH_PATH + ApiConstants.REFRESH_TOKEN_PATH
+            ApiConstants.AUTH_PATH + ApiConstants.REFRESH_TOKEN_PATH,
+            ApiConstants.AUTH_PATH + ApiConstants.LOGOUT_PATH,
+            ApiConstants.JWKS_PATH
     );
 
     private final JwtProvider jwtProvider;
+    private final JwtProperties jwtProperties;
     private final UserDetailsService userDetailsService;
+    private final TokenDenylist tokenDenylist;
     private final JwtAuthenticationEntryPoint authenticationEntryPoint;
 
     // ==== Filter ====
@@ -49,8 +55,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             String token = extractJwtToken(request);
-            if (isValidToken(token)) {
-                setAuthenticationContext(token, request);
+            if (token != null) {
+                VerifiedToken verifiedToken = jwtProvider.verifyAccessToken(token);
+                if (tokenDenylist.isDenied(verifiedToken)) {
+                    throw new RevokedTokenException();
+                }
+                setAuthenticationContext(verifiedToken, request);
             }
             filterChain.doFilter(request, response);
         } catch (TokenException ex) {
@@ -73,13 +83,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         return null;
     }
 
-    private boolean isValidToken(String token) {
-        return token != null && jwtProvider.validateAccessToken(token);
-    }
-
-    private void setAuthenticationContext(String token, HttpServletRequest request) {
-        String username = jwtProvider.extractUsername(token);
-        CustomUserDetails userDetails = (CustomUserDetails) userDetailsService.loadUserByUsername(username);
+    private void setAuthenticationContext(VerifiedToken token, HttpServletRequest request) {
+        CustomUserDetails userDetails = jwtProperties.isStateless()
+                ? token.toUserDetails()
+                : loadPrincipal(token);
 
         UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                 userDetails,
@@ -91,4 +98,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         SecurityContextHolder.getContext().setAuthentication(authentication);
     }
 
+    private CustomUserDetails loadPrincipal(VerifiedToken token) {
+        return (CustomUserDetails) userDetailsService.loadUserByUsername(token.username());
+    }
+
 }
@@ -0,0 +1,159 @@
+package com.fernirx.lms.infrastructure.security;
+
+import com.fernirx.lms.infrastructure.properties.JwtProperties;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import io.jsonwebtoken.security.UnsupportedKeyException;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.SecretKey;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.*;
+
+/**
+ * Signing and verification keys for issued JWTs.
+ * New tokens are signed with the active key and carry its {@code kid} header; verification resolves
+ * the key by {@code kid} from an immutable map, so every configured key keeps verifying during a rotation.
+ * Tokens without a {@code kid} are verified with the legacy HMAC secret, when one is configured.
+ */
+@Component
+@RequiredArgsConstructor
+public class JwtKeyRing extends LocatorAdapter<Key> {
+    private final JwtProperties jwtProperties;
+
+    private Map<String, PublicKey> verificationKeys;
+    private SecretKey legacyKey;
+    private String activeKeyId;
+    private PrivateKey activeSigningKey;
+    private SignatureAlgorithm activeAlgorithm;
+    private Map<String, Object> jwks;
+
+    @PostConstruct
+    public void init() {
+        if (StringUtils.hasText(jwtProperties.getSecret())) {
+            this.legacyKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtProperties.getSecret()));
+        }
+
+        Map<String, PublicKey> publicKeys = new HashMap<>();
+        List<Map<String, Object>> publishedKeys = new ArrayList<>();
+        for (JwtProperties.SigningKey signingKey : jwtProperties.getKeys()) {
+            PublicKey publicKey = decodePublicKey(signingKey);
+            if (publicKeys.putIfAbsent(signingKey.getKid(), publicKey) != null) {
+                throw new IllegalStateException("Duplicate JWT key id: " + signingKey.getKid());
+            }
+            publishedKeys.add(toJwk(signingKey, publicKey));
+
+            if (isActive(signingKey)) {
+                this.activeKeyId = signingKey.getKid();
+                this.activeSigningKey = decodePrivateKey(signingKey);
+                this.activeAlgorithm = toSignatureAlgorithm(signingKey.getAlgorithm());
+            }
+        }
+
+        if (!jwtProperties.getKeys().isEmpty() && activeSigningKey == null) {
+            throw new IllegalStateException("No JWT signing key with a private key matches the active key id");
+        }
+
+        this.verificationKeys = Map.copyOf(publicKeys);
+        this.jwks = Map.of("keys", List.copyOf(publishedKeys));
+    }
+
+    // ==== PUBLIC API ====
+
+    /**
+     * Adds the {@code kid} header and the signature of the active key to the token being built.
+     */
+    public JwtBuilder sign(JwtBuilder builder) {
+        if (activeSigningKey == null) {
+            return builder.signWith(legacyKey);
+        }
+        return builder
+                .header().keyId(activeKeyId).and()
+                .signWith(activeSigningKey, activeAlgorithm);
+    }
+
+    /**
+     * Public keys in JWK Set format, built once at startup.
+     */
+    public Map<String, Object> jwks() {
+        return jwks;
+    }
+
+    // ==== PRIVATE HELPERS ====
+
+    @Override
+    protected Key locate(JwsHeader header) {
+        String kid = header.getKeyId();
+        Key key = kid != null ? verificationKeys.get(kid) : legacyKey;
+        if (key == null) {
+            throw new UnsupportedKeyException("No verification key for the token key id");
+        }
+        return key;
+    }
+
+    private boolean isActive(JwtProperties.SigningKey signingKey) {
+        if (StringUtils.hasText(jwtProperties.getActiveKeyId())) {
+            return jwtProperties.getActiveKeyId().equals(signingKey.getKid());
+        }
+        return activeSigningKey == null && StringUtils.hasText(signingKey.getPrivateKey());
+    }
+
+    private Map<String, Object> toJwk(JwtProperties.SigningKey signingKey, PublicKey publicKey) {
+        return new LinkedHashMap<>(Jwks.builder()
+                .key(publicKey)
+                .id(signingKey.getKid())
+                .algorithm(signingKey.getAlgorithm().name())
+                .publicKeyUse("sig")
+                .build());
+    }
+
+    private PublicKey decodePublicKey(JwtProperties.SigningKey signingKey) {
+        try {
+            return keyFactory(signingKey.getAlgorithm())
+                    .generatePublic(new X509EncodedKeySpec(Decoders.BASE64.decode(signingKey.getPublicKey())));
+        } catch (GeneralSecurityException | RuntimeException e) {
+            throw new IllegalStateException("Invalid public key for JWT key id: " + signingKey.getKid(), e);
+        }
+    }
+
+    private PrivateKey decodePrivateKey(JwtProperties.SigningKey signingKey) {
+        if (!StringUtils.hasText(signingKey.getPrivateKey())) {
+            throw new IllegalStateException("Active JWT key has no private key: " + signingKey.getKid());
+        }
+        try {
+            return keyFactory(signingKey.getAlgorithm())
+                    .generatePrivate(new PKCS8EncodedKeySpec(Decoders.BASE64.decode(signingKey.getPrivateKey())));
+        } catch (GeneralSecurityException | RuntimeException e) {
+            throw new IllegalStateException("Invalid private key for JWT key id: " + signingKey.getKid(), e);
+        }
+    }
+
+    private KeyFactory keyFactory(JwtProperties.Algorithm algorithm) throws GeneralSecurityException {
+        return switch (algorithm) {
+            case ES256 -> KeyFactory.getInstance("EC");
+            case EdDSA -> KeyFactory.getInstance("Ed25519");
+        };
+    }
+
+    private SignatureAlgorithm toSignatureAlgorithm(JwtProperties.Algorithm algorithm) {
+        return switch (algorithm) {
+            case ES256 -> Jwts.SIG.ES256;
+            case EdDSA -> Jwts.SIG.EdDSA;
+        };
+    }
+}
@@ -4,31 +4,31 @@ import com.fernirx.lms.common.constants.SecurityConstants;
 import com.fernirx.lms.common.exceptions.*;
 import com.fernirx.lms.infrastructure.properties.JwtProperties;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
 import java.time.Duration;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
 public class JwtProvider {
     private final JwtProperties jwtProperties;
-    private SecretKey key;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final JwtKeyRing jwtKeyRing;
+    private final RoleAuthorityRegistry roleAuthorityRegistry;
+    private JwtParser parser;
 
     @PostConstruct
     public void init() {
-        this.key = Keys.hmacShaKeyFor(
-                Decoders.BASE64.decode(
-                        jwtProperties.getSecret()
-                )
-        );
+        // The parser is immutable and thread-safe, so it is built once and shared by every request
+        this.parser = Jwts.parser()
+                .keyLocator(jwtKeyRing)
+                .build();
     }
 
     // ==== PUBLIC API ====
@@ -39,19 +39,18 @@ public class JwtProvider {
                 SecurityConstants.JWT_ACCESS_TOKEN,
                 userDetails.getId(),
                 userDetails.getUsername(),
-                SecurityUtils.getAuthorities(userDetails),
+                userDetails.getAuthorities(),
                 jwtProperties.getExpiration()
         );
     }
 
-    public String generateRefreshToken(long userId, String username) {
-        return createToken(
-                SecurityConstants.JWT_REFRESH_TOKEN,
-                userId,
-                username,
-                null,
-                jwtProperties.getRefreshExpiration()
-        );
+    /**
+     * Issues a refresh token with its own {@code jti} that belongs to the given rotation family.
+     */
+    public String generateRefreshToken(long userId, String username, String tokenId, String familyId) {
+        Map<String, Object> claims = buildClaims(SecurityConstants.JWT_REFRESH_TOKEN, username, null);
+        claims.put(SecurityConstants.JWT_CLAIMS_FAMILY, familyId);
+        return buildJwtToken(String.valueOf(userId), tokenId, claims, jwtProperties.getRefreshExpiration());
     }
 
     public String generateResetPasswordToken(long userId, String username) {
@@ -64,117 +63,143 @@ public class JwtProvider {
         );
     }
 
-    public String refreshAccessToken(String refreshToken, CustomUserDetails userDetails) {
-        validateRefreshToken(refreshToken);
+    /**
+     * Issues a new access token for a refresh token that has already been verified
+     * through {@link #verifyRefreshToken(String)}.
+     */
+    public String refreshAccessToken(VerifiedToken refreshToken, CustomUserDetails userDetails) {
+        requireType(refreshToken, SecurityConstants.JWT_REFRESH_TOKEN);
 
         return createToken(
                 SecurityConstants.JWT_ACCESS_TOKEN,
                 userDetails.getId(),
                 userDetails.getUsername(),
-                SecurityUtils.getAuthorities(userDetails),
+                userDetails.getAuthorities(),
                 jwtProperties.getExpiration()
         );
     }
 
-    public String rotateRefreshToken(String oldRefreshToken) {
-        validateRefreshToken(oldRefreshToken);
-
-        long userId = Long.parseLong(extractSubject(oldRefreshToken));
-        String username = extractUsername(oldRefreshToken);
+    /**
+     * Issues the successor of a refresh token in the same family under a new {@code jti}.
+     */
+    public String rotateRefreshToken(VerifiedToken oldRefreshToken, String tokenId) {
+        requireType(oldRefreshToken, SecurityConstants.JWT_REFRESH_TOKEN);
 
-        return generateRefreshToken(userId, username);
+        return generateRefreshToken(oldRefreshToken.userId(), oldRefreshToken.username(),
+                tokenId, oldRefreshToken.familyId());
     }
 
-    public boolean validateAccessToken(String token) {
-        return validateToken(token, SecurityConstants.JWT_ACCESS_TOKEN);
+    /**
+     * Verifies the signature and parses the claims exactly once.
+     *
+     * @throws TokenException if the token is expired, malformed, unsupported or not signed by us
+     */
+    public VerifiedToken verify(String token) {
+        return toVerifiedToken(extractAllClaims(token));
     }
 
-    public boolean validateRefreshToken(String token) {
-        return validateToken(token, SecurityConstants.JWT_REFRESH_TOKEN);
+    /**
+     * Verifies an access token, reusing the cached result when the same token was verified before.
+     * The type is checked before caching, so other signed tokens never take up room in the cache.
+     */
+    public VerifiedToken verifyAccessToken(String token) {
+        return verifiedTokenCache.get(token,
+                key -> requireType(verify(key), SecurityConstants.JWT_ACCESS_TOKEN));
     }
 
-    public boolean validateResetPasswordToken(String token) {
-        return validateToken(token, SecurityConstants.JWT_RESET_PASSWORD_TOKEN);
+    public VerifiedToken verifyRefreshToken(String token) {
+        return requireType(verify(token), SecurityConstants.JWT_REFRESH_TOKEN);
     }
 
-    public boolean isTokenExpired(String token) {
-        try {
-            Date expiration = extractAllClaims(token).getExpiration();
-            return expiration.before(new Date());
-        } catch (ExpiredJwtException e) {
-            return true;
-        }
-    }
-
-    public String extractSubject(String token) {
-        return extractAllClaims(token).getSubject();
-    }
-
-    public String extractUsername(String token) {
-        Object username = extractAllClaims(token).get(SecurityConstants.JWT_CLAIMS_USERNAME);
-        return username != null ? username.toString() : null;
-    }
-
-    public Set<String> extractAuthorities(String token) {
-        Object authorities = extractAllClaims(token).get(SecurityConstants.JWT_CLAIMS_AUTHORITIES);
-        if (authorities instanceof Collection<?>) {
-            return ((Collection<?>) authorities).stream()
-                    .map(Object::toString)
-                    .collect(Collectors.toSet());
-        }
-        return Set.of();
-    }
-
-    public Set<String> extractAuthoritiesIgnoreExpiry(String token) {
-        Object authorities = extractAllClaimsIgnoreExpiry(token).get(SecurityConstants.JWT_CLAIMS_AUTHORITIES);
-        if (authorities instanceof Collection<?>) {
-            return ((Collection<?>) authorities).stream()
-                    .map(Object::toString)
-                    .collect(Collectors.toSet());
-        }
-        return Set.of();
+    public VerifiedToken verifyResetPasswordToken(String token) {
+        return requireType(verify(token), SecurityConstants.JWT_RESET_PASSWORD_TOKEN);
     }
 
     // ==== PRIVATE HELPERS ====
 
     private String createToken(String type, long userId, String username,
-                               Set<String> authorities, Duration expiration) {
+                               Collection<? extends GrantedAuthority> authorities, Duration expiration) {
         Map<String, Object> claims = buildClaims(type, username, authorities);
-        return buildJwtToken(String.valueOf(userId), claims, expiration);
+        return buildJwtToken(String.valueOf(userId), UUID.randomUUID().toString(), claims, expiration);
     }
 
-    private String buildJwtToken(String subject, Map<String, Object> claims, Duration expiration) {
+    private String buildJwtToken(String subject, String tokenId, Map<String, Object> claims, Duration expiration) {
         Date now = new Date();
         Date expirationDate = new Date(now.getTime() + expiration.toMillis());
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .claims(claims)
+                .id(tokenId)
                 .subject(subject)
                 .issuedAt(now)
                 .expiration(expirationDate)
-                .issuer(jwtProperties.getIssuer())
-                .signWith(key)
-                .compact();
+                .issuer(jwtProperties.getIssuer());
+        return jwtKeyRing.sign(builder).compact();
     }
 
-    private Map<String, Object> buildClaims(String type, String username, Set<String> authorities) {
+    private Map<String, Object> buildClaims(String type, String username,
+                                            Collection<? extends GrantedAuthority> authorities) {
         Map<String, Object> claims = new HashMap<>();
         claims.put(SecurityConstants.JWT_CLAIMS_TYPE, type);
         claims.put(SecurityConstants.JWT_CLAIMS_USERNAME, username);
         if (authorities != null) {
-            claims.put(SecurityConstants.JWT_CLAIMS_AUTHORITIES, authorities);
+            long mask = roleAuthorityRegistry.maskOf(authorities);
+            if (Long.bitCount(mask) == authorities.size()) {
+                claims.put(SecurityConstants.JWT_CLAIMS_AUTH, mask);
+            } else {
+                // A role the registry has not loaded yet cannot be encoded, keep the names instead
+                claims.put(SecurityConstants.JWT_CLAIMS_AUTHORITIES, toAuthorityNames(authorities));
+            }
         }
         return claims;
     }
 
-    private boolean validateToken(String token, String expectedType) {
-        Claims claims = extractAllClaims(token);
-        String tokenType = claims.get(SecurityConstants.JWT_CLAIMS_TYPE).toString();
+    private VerifiedToken toVerifiedToken(Claims claims) {
+        Object type = claims.get(SecurityConstants.JWT_CLAIMS_TYPE);
+        Object username = claims.get(SecurityConstants.JWT_CLAIMS_USERNAME);
+        Object familyId = claims.get(SecurityConstants.JWT_CLAIMS_FAMILY);
+        return new VerifiedToken(
+                type != null ? type.toString() : null,
+                claims.getSubject(),
+                username != null ? username.toString() : null,
+                toAuthorities(claims),
+                claims.getExpiration().toInstant(),
+                claims.getId(),
+                familyId != null ? familyId.toString() : null
+        );
+    }
+
+    private VerifiedToken requireType(VerifiedToken token, String expectedType) {
+        if (!expectedType.equals(token.type())) {
+            throw new InvalidTokenTypeException(expectedType, token.type());
+        }
+        return token;
+    }
+
+    private List<GrantedAuthority> toAuthorities(Claims claims) {
+        if (claims.get(SecurityConstants.JWT_CLAIMS_AUTH) instanceof Number mask) {
+            return roleAuthorityRegistry.authoritiesOf(mask.longValue());
+        }
+        // Tokens issued before the bitmask claim list the authority names
+        return toGrantedAuthorities(claims.get(SecurityConstants.JWT_CLAIMS_AUTHORITIES));
+    }
 
-        if (!expectedType.equals(tokenType)) {
-            throw new InvalidTokenTypeException(expectedType, tokenType);
+    private List<GrantedAuthority> toGrantedAuthorities(Object authorities) {
+        if (authorities instanceof Collection<?> collection) {
+            List<GrantedAuthority> grantedAuthorities = new ArrayList<>(collection.size());
+            for (Object authority : collection) {
+                grantedAuthorities.add(new SimpleGrantedAuthority(authority.toString()));
+            }
+            return Collections.unmodifiableList(grantedAuthorities);
         }
+        return List.of();
+    }
 
-        return true;
+    private Set<String> toAuthorityNames(Collection<? extends GrantedAuthority> authorities) {
+        Set<String> names = new HashSet<>(authorities.size() * 2);
+        for (GrantedAuthority authority : authorities) {
+            names.add(authority.getAuthority());
+        }
+        return names;
     }
 
     private void handleJwtException(JwtException e) {
@@ -189,22 +214,10 @@ public class JwtProvider {
 
     private Claims extractAllClaims(String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            return parser.parseSignedClaims(token).getPayload();
         } catch (JwtException e) {
             handleJwtException(e);
             throw new IllegalStateException("Unreachable");
         }
     }
-
-    private Claims extractAllClaimsIgnoreExpiry(String token) {
-        try {
-            return extractAllClaims(token);
-        } catch (ExpiredJwtException e) {
-            return e.getClaims();
-        }
-    }
 }
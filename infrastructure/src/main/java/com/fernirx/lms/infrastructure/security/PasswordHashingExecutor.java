@@ -0,0 +1,83 @@
+package com.fernirx.lms.infrastructure.security;
+
+import com.fernirx.lms.common.constants.ApiMessages;
+import com.fernirx.lms.common.exceptions.TooManyRequestsException;
+import com.fernirx.lms.infrastructure.properties.PasswordHashingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * CPU-sized pool for password verification, kept off the Tomcat request threads.
+ * The queue is bounded: once it is full, new work is rejected immediately with
+ * {@link TooManyRequestsException} instead of piling up behind a login storm.
+ * <p>
+ * Published as {@code executor.*{name=passwordHashing}}: queue depth ({@code executor.queued}),
+ * queue wait ({@code executor.idle}), run time ({@code executor}) and {@code executor.rejected}.
+ */
+@Slf4j
+@Component
+public class PasswordHashingExecutor {
+    private static final String NAME = "passwordHashing";
+
+    private final ThreadPoolExecutor threadPool;
+    private final ExecutorService executor;
+    private final Counter rejected;
+
+    public PasswordHashingExecutor(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        int poolSize = properties.resolvedPoolSize();
+        this.threadPool = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                newThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, threadPool, NAME);
+        this.rejected = Counter.builder("executor.rejected")
+                .tag("name", NAME)
+                .description("Password verifications rejected because the queue was full")
+                .register(meterRegistry);
+        log.info("Password hashing executor started with {} threads and queue capacity {}",
+                poolSize, properties.getQueueCapacity());
+    }
+
+    /**
+     * Runs {@code task} on the hashing pool.
+     *
+     * @throws TooManyRequestsException if the queue is full
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new TooManyRequestsException(ApiMessages.LOGIN_CAPACITY_EXCEEDED);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        threadPool.shutdown();
+    }
+
+    // ==== PRIVATE HELPERS ====
+
+    private static ThreadFactory newThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
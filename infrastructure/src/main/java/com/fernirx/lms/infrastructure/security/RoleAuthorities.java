@@ -0,0 +1,42 @@
+package com.fernirx.lms.infrastructure.security;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Immutable authority list for one combination of roles, identified by its bitmask.
+ * Instances are shared through {@link RoleAuthorityRegistry#authoritiesOf(long)}, so verifying a token
+ * allocates no authority objects, and role checks reduce to {@link #hasAny(long)}.
+ */
+public final class RoleAuthorities extends AbstractList<GrantedAuthority> implements RandomAccess {
+    private final long mask;
+    private final GrantedAuthority[] authorities;
+
+    RoleAuthorities(long mask, GrantedAuthority[] authorities) {
+        this.mask = mask;
+        this.authorities = authorities;
+    }
+
+    public long mask() {
+        return mask;
+    }
+
+    /**
+     * @return {@code true} if any role in {@code requiredMask} is held
+     */
+    public boolean hasAny(long requiredMask) {
+        return (mask & requiredMask) != 0;
+    }
+
+    @Override
+    public GrantedAuthority get(int index) {
+        return authorities[index];
+    }
+
+    @Override
+    public int size() {
+        return authorities.length;
+    }
+}
@@ -0,0 +1,115 @@
+package com.fernirx.lms.infrastructure.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns every role a bit position ({@code id - 1}) so a set of roles fits in one {@code long}.
+ * Access tokens carry that mask, and {@code hasRole}/{@code hasAnyRole} checks compare masks instead of
+ * scanning authority strings. Loaded from the {@code roles} table at startup; reloading swaps the whole
+ * mapping atomically.
+ */
+@Slf4j
+@Component
+public class RoleAuthorityRegistry {
+    public static final String ROLE_PREFIX = "ROLE_";
+    private static final int MAX_ROLES = Long.SIZE;
+
+    private volatile Mapping mapping = new Mapping(new GrantedAuthority[MAX_ROLES], Map.of());
+
+    // ==== PUBLIC API ====
+
+    /**
+     * Replaces the role mapping.
+     *
+     * @param roleNamesById role names such as {@code ROLE_ADMIN}, keyed by role id
+     */
+    public void load(Map<Long, String> roleNamesById) {
+        GrantedAuthority[] authoritiesByBit = new GrantedAuthority[MAX_ROLES];
+        Map<String, Long> bitsByName = new HashMap<>();
+        roleNamesById.forEach((id, name) -> {
+            if (id < 1 || id > MAX_ROLES) {
+                throw new IllegalStateException("Role id " + id + " does not fit in the authority bitmask");
+            }
+            int bit = (int) (id - 1);
+            long roleMask = 1L << bit;
+            authoritiesByBit[bit] = new SimpleGrantedAuthority(name);
+            bitsByName.put(name, roleMask);
+            if (name.startsWith(ROLE_PREFIX)) {
+                bitsByName.put(name.substring(ROLE_PREFIX.length()), roleMask);
+            }
+        });
+        this.mapping = new Mapping(authoritiesByBit, Map.copyOf(bitsByName));
+        log.info("Loaded {} roles into the authority registry", roleNamesById.size());
+    }
+
+    /**
+     * Mask of the given role names, with or without the {@code ROLE_} prefix. Unknown names contribute nothing.
+     */
+    public long maskOfRoles(String... roles) {
+        Map<String, Long> bitsByName = mapping.bitsByName();
+        long mask = 0;
+        for (String role : roles) {
+            Long bit = bitsByName.get(role);
+            if (bit != null) {
+                mask |= bit;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Mask of the given authorities. Unknown authorities contribute nothing.
+     */
+    public long maskOf(Collection<? extends GrantedAuthority> authorities) {
+        if (authorities instanceof RoleAuthorities roleAuthorities) {
+            return roleAuthorities.mask();
+        }
+        Map<String, Long> bitsByName = mapping.bitsByName();
+        long mask = 0;
+        for (GrantedAuthority authority : authorities) {
+            Long bit = bitsByName.get(authority.getAuthority());
+            if (bit != null) {
+                mask |= bit;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Shared, immutable authorities for a mask. Bits of roles that no longer exist are ignored.
+     */
+    public RoleAuthorities authoritiesOf(long mask) {
+        Mapping current = mapping;
+        return current.authoritiesByMask().computeIfAbsent(mask, current::build);
+    }
+
+    // ==== PRIVATE HELPERS ====
+
+    private record Mapping(GrantedAuthority[] authoritiesByBit,
+                           Map<String, Long> bitsByName,
+                           Map<Long, RoleAuthorities> authoritiesByMask) {
+
+        Mapping(GrantedAuthority[] authoritiesByBit, Map<String, Long> bitsByName) {
+            this(authoritiesByBit, bitsByName, new ConcurrentHashMap<>());
+        }
+
+        RoleAuthorities build(long mask) {
+            List<GrantedAuthority> authorities = new ArrayList<>(Long.bitCount(mask));
+            long knownMask = 0;
+            for (long remaining = mask; remaining != 0; remaining &= remaining - 1) {
+                int bit = Long.numberOfTrailingZeros(remaining);
+                if (authoritiesByBit[bit] != null) {
+                    authorities.add(authoritiesByBit[bit]);
+                    knownMask |= 1L << bit;
+                }
+            }
+            return new RoleAuthorities(knownMask, authorities.toArray(GrantedAuthority[]::new));
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.fernirx.lms.infrastructure.security;
+
+import org.springframework.security.access.expression.method.MethodSecurityExpressionOperations;
+import org.springframework.security.core.Authentication;
+
+/**
+ * Method security root that answers {@code hasRole}/{@code hasAnyRole} with a single AND against the
+ * caller's role mask. Every other expression is delegated to Spring's default root; delegation is needed
+ * because {@code SecurityExpressionRoot#hasAnyRole} is final.
+ */
+public class RoleMaskExpressionRoot implements MethodSecurityExpressionOperations {
+    private final MethodSecurityExpressionOperations delegate;
+    private final RoleAuthorityRegistry roleAuthorityRegistry;
+    private long callerMask = -1;
+
+    public RoleMaskExpressionRoot(MethodSecurityExpressionOperations delegate,
+                                  RoleAuthorityRegistry roleAuthorityRegistry) {
+        this.delegate = delegate;
+        this.roleAuthorityRegistry = roleAuthorityRegistry;
+    }
+
+    // ==== ROLE CHECKS ====
+
+    @Override
+    public boolean hasRole(String role) {
+        return (callerMask() & roleAuthorityRegistry.maskOfRoles(role)) != 0;
+    }
+
+    @Override
+    public boolean hasAnyRole(String... roles) {
+        return (callerMask() & roleAuthorityRegistry.maskOfRoles(roles)) != 0;
+    }
+
+    // ==== DELEGATED ====
+
+    @Override
+    public Authentication getAuthentication() {
+        return delegate.getAuthentication();
+    }
+
+    public Object getPrincipal() {
+        Authentication authentication = getAuthentication();
+        return authentication != null ? authentication.getPrincipal() : null;
+    }
+
+    @Override
+    public boolean hasAuthority(String authority) {
+        return delegate.hasAuthority(authority);
+    }
+
+    @Override
+    public boolean hasAnyAuthority(String... authorities) {
+        return delegate.hasAnyAuthority(authorities);
+    }
+
+    @Override
+    public boolean permitAll() {
+        return delegate.permitAll();
+    }
+
+    @Override
+    public boolean denyAll() {
+        return delegate.denyAll();
+    }
+
+    @Override
+    public boolean isAnonymous() {
+        return delegate.isAnonymous();
+    }
+
+    @Override
+    public boolean isAuthenticated() {
+        return delegate.isAuthenticated();
+    }
+
+    @Override
+    public boolean isRememberMe() {
+        return delegate.isRememberMe();
+    }
+
+    @Override
+    public boolean isFullyAuthenticated() {
+        return delegate.isFullyAuthenticated();
+    }
+
+    @Override
+    public boolean hasPermission(Object target, Object permission) {
+        return delegate.hasPermission(target, permission);
+    }
+
+    @Override
+    public boolean hasPermission(Object targetId, String targetType, Object permission) {
+        return delegate.hasPermission(targetId, targetType, permission);
+    }
+
+    @Override
+    public void setFilterObject(Object filterObject) {
+        delegate.setFilterObject(filterObject);
+    }
+
+    @Override
+    public Object getFilterObject() {
+        return delegate.getFilterObject();
+    }
+
+    @Override
+    public void setReturnObject(Object returnObject) {
+        delegate.setReturnObject(returnObject);
+    }
+
+    @Override
+    public Object getReturnObject() {
+        return delegate.getReturnObject();
+    }
+
+    @Override
+    public Object getThis() {
+        return delegate.getThis();
+    }
+
+    // ==== PRIVATE HELPERS ====
+
+    private long callerMask() {
+        if (callerMask == -1) {
+            callerMask = resolveCallerMask();
+        }
+        return callerMask;
+    }
+
+    private long resolveCallerMask() {
+        Authentication authentication = getAuthentication();
+        if (authentication == null) {
+            return 0;
+        }
+        // The token copies authorities into a new list, the principal still holds the shared RoleAuthorities
+        if (authentication.getPrincipal() instanceof CustomUserDetails userDetails) {
+            return roleAuthorityRegistry.maskOf(userDetails.getAuthorities());
+        }
+        return roleAuthorityRegistry.maskOf(authentication.getAuthorities());
+    }
+}
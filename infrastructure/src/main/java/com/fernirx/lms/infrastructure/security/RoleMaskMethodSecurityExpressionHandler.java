@@ -0,0 +1,30 @@
+package com.fernirx.lms.infrastructure.security;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionOperations;
+import org.springframework.security.core.Authentication;
+
+import java.util.function.Supplier;
+
+/**
+ * Evaluates {@code @PreAuthorize} and friends against a {@link RoleMaskExpressionRoot}.
+ */
+public class RoleMaskMethodSecurityExpressionHandler extends DefaultMethodSecurityExpressionHandler {
+    private final RoleAuthorityRegistry roleAuthorityRegistry;
+
+    public RoleMaskMethodSecurityExpressionHandler(RoleAuthorityRegistry roleAuthorityRegistry) {
+        this.roleAuthorityRegistry = roleAuthorityRegistry;
+    }
+
+    @Override
+    public EvaluationContext createEvaluationContext(Supplier<Authentication> authentication, MethodInvocation mi) {
+        StandardEvaluationContext context = (StandardEvaluationContext) super.createEvaluationContext(authentication, mi);
+        MethodSecurityExpressionOperations defaultRoot =
+                (MethodSecurityExpressionOperations) context.getRootObject().getValue();
+        context.setRootObject(new RoleMaskExpressionRoot(defaultRoot, roleAuthorityRegistry));
+        return context;
+    }
+}
@@ -5,9 +5,9 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 
-import java.util.List;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @UtilityClass
 public final class SecurityUtils {
@@ -21,8 +21,11 @@ public final class SecurityUtils {
     }
 
     public Set<String> getAuthorities(CustomUserDetails customUserDetails) {
-        return customUserDetails.getAuthorities().stream()
-                .map(GrantedAuthority::getAuthority)
-                .collect(Collectors.toSet());
+        Collection<? extends GrantedAuthority> authorities = customUserDetails.getAuthorities();
+        Set<String> names = new HashSet<>(authorities.size() * 2);
+        for (GrantedAuthority authority : authorities) {
+            names.add(authority.getAuthority());
+        }
+        return names;
     }
 }
@@ -0,0 +1,86 @@
+package com.fernirx.lms.infrastructure.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.NonNull;
+
+import java.time.Duration;
+
+/**
+ * Token-bucket limiter keyed by an arbitrary string such as a username or client IP.
+ * Buckets live in a size-bounded cache and are dropped once idle for a full refill period, by which time
+ * they would be full again anyway. Bucket updates are guarded by a fixed set of lock stripes rather than
+ * one lock per key, so memory stays flat while unrelated keys rarely contend.
+ * A check costs one cache lookup and a few arithmetic operations under an uncontended monitor.
+ */
+public final class StripedRateLimiter {
+    private static final int STRIPES = 64;
+
+    private final Cache<@NonNull String, Bucket> buckets;
+    private final Object[] locks;
+    private final int capacity;
+    private final double tokensPerNano;
+
+    /**
+     * @param capacity     burst size, and the number of tokens restored over {@code refillPeriod}
+     * @param refillPeriod time for an empty bucket to refill completely
+     * @param maximumKeys  upper bound on tracked keys; the least recently used are evicted first
+     */
+    public StripedRateLimiter(int capacity, Duration refillPeriod, int maximumKeys) {
+        this.capacity = capacity;
+        this.tokensPerNano = (double) capacity / refillPeriod.toNanos();
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(refillPeriod)
+                .build();
+        this.locks = new Object[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Takes one token for {@code key}.
+     *
+     * @return {@code false} if the bucket is empty and the caller should be rejected
+     */
+    public boolean tryAcquire(String key) {
+        long now = System.nanoTime();
+        Bucket bucket = buckets.get(key, k -> new Bucket(capacity, now));
+        synchronized (lockFor(key)) {
+            return bucket.tryConsume(now, capacity, tokensPerNano);
+        }
+    }
+
+    // ==== PRIVATE HELPERS ====
+
+    private Object lockFor(String key) {
+        int hash = key.hashCode();
+        return locks[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    /**
+     * Mutable bucket state, only touched while holding the stripe lock of its key.
+     */
+    private static final class Bucket {
+        private double tokens;
+        private long refilledAt;
+
+        Bucket(int capacity, long now) {
+            this.tokens = capacity;
+            this.refilledAt = now;
+        }
+
+        boolean tryConsume(long now, int capacity, double tokensPerNano) {
+            if (now > refilledAt) {
+                tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+                refilledAt = now;
+            }
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.fernirx.lms.infrastructure.security;
+
+/**
+ * Revocation check applied to every verified access token before it authenticates a request.
+ * Implementations must answer from memory; this runs on every request.
+ */
+public interface TokenDenylist {
+
+    /**
+     * @return {@code true} if the token itself or its user has been revoked
+     */
+    boolean isDenied(VerifiedToken token);
+}
@@ -0,0 +1,33 @@
+package com.fernirx.lms.infrastructure.security;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Result of a single signature check and claims parse by {@link JwtProvider}.
+ * Callers read the typed accessors instead of re-parsing the raw token.
+ */
+public record VerifiedToken(
+        String type,
+        String subject,
+        String username,
+        List<GrantedAuthority> authorities,
+        Instant expiresAt,
+        String tokenId,
+        String familyId
+) {
+
+    public long userId() {
+        return Long.parseLong(subject);
+    }
+
+    /**
+     * Rebuilds the principal from the token claims alone, without touching the user store.
+     * Password and email are not carried by the token and are left {@code null}.
+     */
+    public CustomUserDetails toUserDetails() {
+        return new CustomUserDetails(userId(), username, null, null, false, authorities);
+    }
+}
@@ -0,0 +1,120 @@
+package com.fernirx.lms.infrastructure.security;
+
+import com.fernirx.lms.infrastructure.properties.TokenCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Function;
+
+/**
+ * Caches the result of access-token verification keyed by the SHA-256 digest of the raw token,
+ * so clients that resend the same token skip signature verification and JSON parsing.
+ * <p>
+ * Each entry expires at the token's own {@code exp}. The cache is bounded by both entry count
+ * and estimated memory: every entry weighs at least {@code maximumMemory / maximumSize} bytes,
+ * so neither limit can be exceeded. Only tokens that verified successfully as access tokens are
+ * cached, so forged or malformed tokens, and refresh or reset tokens sent as bearer tokens, never occupy space.
+ */
+@Component
+public class VerifiedTokenCache {
+    public static final String CACHE_NAME = "verifiedTokens";
+
+    // Rough per-entry footprint: digest key, VerifiedToken record, type/subject strings and node overhead
+    private static final int ENTRY_BASE_BYTES = 320;
+    private static final int AUTHORITY_BYTES = 72;
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private final boolean enabled;
+    private final Cache<@NonNull TokenDigest, VerifiedToken> cache;
+
+    public VerifiedTokenCache(TokenCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        long maximumBytes = properties.getMaximumMemory().toBytes();
+        int minimumWeight = (int) Math.max(1, maximumBytes / properties.getMaximumSize());
+
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher((TokenDigest key, VerifiedToken value) -> Math.max(minimumWeight, estimateBytes(value)))
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("cache.weighted.size", cache, VerifiedTokenCache::weightedSize)
+                .tag("cache", CACHE_NAME)
+                .baseUnit("bytes")
+                .description("Estimated memory held by the verified-token cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached verification result for the token, or runs the verifier and caches its result.
+     * Exceptions thrown by the verifier propagate and nothing is cached.
+     */
+    public VerifiedToken get(String token, Function<String, VerifiedToken> verifier) {
+        if (!enabled) {
+            return verifier.apply(token);
+        }
+        return cache.get(digest(token), key -> verifier.apply(token));
+    }
+
+    // ==== PRIVATE HELPERS ====
+
+    private static TokenDigest digest(String token) {
+        MessageDigest messageDigest = SHA_256.get();
+        ByteBuffer hash = ByteBuffer.wrap(messageDigest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        return new TokenDigest(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+    }
+
+    private static int estimateBytes(VerifiedToken token) {
+        int usernameBytes = token.username() != null ? token.username().length() * 2 : 0;
+        return ENTRY_BASE_BYTES + usernameBytes + token.authorities().size() * AUTHORITY_BYTES;
+    }
+
+    private static double weightedSize(Cache<TokenDigest, VerifiedToken> cache) {
+        return cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+
+    private record TokenDigest(long h0, long h1, long h2, long h3) {
+    }
+
+    private static final class TokenExpiry implements Expiry<TokenDigest, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(TokenDigest key, VerifiedToken value, long currentTime) {
+            long remaining = Duration.between(Instant.now(), value.expiresAt()).toNanos();
+            return Math.max(0, remaining);
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.fernirx.lms.infrastructure.message;
+
+import com.fernirx.lms.infrastructure.config.MailExecutorConfig;
+import com.fernirx.lms.infrastructure.properties.MailExecutorProperties;
+import com.fernirx.lms.infrastructure.properties.MailOutboxProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class MailOutboxWorkerTest {
+    private static final String BOUNCING_RECIPIENT = "bounce@example.com";
+
+    private SmtpSink smtpSink;
+    private JavaMailSenderImpl mailSender;
+    private PlatformTransactionManager transactionManager;
+    private OutboxMailRepository outboxMailRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService mailExecutor;
+    private MailOutboxWorker worker;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        smtpSink = new SmtpSink(Set.of(BOUNCING_RECIPIENT));
+
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(smtpSink.port());
+        mailSender.getJavaMailProperties().put("mail.smtp.from", "lms@example.com");
+
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        outboxMailRepository = mock(OutboxMailRepository.class);
+        worker = newWorker(new MailOutboxProperties(), new MailExecutorProperties());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        smtpSink.close();
+        mailExecutor.shutdownNow();
+    }
+
+    @Test
+    void sendsWholeBatchOverOneConnectionAndDeletesDelivered() throws Exception {
+        List<OutboxMail> batch = mails(5);
+        when(outboxMailRepository.lockDue(any(), anyInt())).thenReturn(batch, List.of());
+
+        drainAndAwaitSends();
+
+        assertThat(smtpSink.connections()).isEqualTo(1);
+        assertThat(smtpSink.deliveredRecipients()).hasSize(5);
+        assertThat(deletedIds()).containsExactlyInAnyOrder(1L, 2L, 3L, 4L, 5L);
+        assertThat(meterRegistry.counter("mail.outbox.sent").count()).isEqualTo(5);
+    }
+
+    @Test
+    void schedulesRetryForRejectedMessageOnly() throws Exception {
+        List<OutboxMail> batch = mails(3);
+        batch.get(1).setRecipient(BOUNCING_RECIPIENT);
+        when(outboxMailRepository.lockDue(any(), anyInt())).thenReturn(batch, List.of());
+
+        drainAndAwaitSends();
+
+        assertThat(deletedIds()).containsExactlyInAnyOrder(1L, 3L);
+        OutboxMail bounced = batch.get(1);
+        assertThat(bounced.getAttempts()).isEqualTo(1);
+        assertThat(bounced.getStatus()).isEqualTo(OutboxMailStatus.PENDING);
+        assertThat(bounced.getNextAttemptAt()).isAfter(LocalDateTime.now());
+        assertThat(meterRegistry.counter("mail.outbox.failed", "outcome", "retry").count()).isEqualTo(1);
+    }
+
+    @Test
+    void clearsTheBodyOfMessagesItGivesUpOn() throws Exception {
+        MailOutboxProperties outboxProperties = new MailOutboxProperties();
+        outboxProperties.setMaxAttempts(1);
+        worker = newWorker(outboxProperties, new MailExecutorProperties());
+        List<OutboxMail> batch = mails(1);
+        batch.getFirst().setRecipient(BOUNCING_RECIPIENT);
+        when(outboxMailRepository.lockDue(any(), anyInt())).thenReturn(batch, List.of());
+
+        drainAndAwaitSends();
+
+        OutboxMail dead = batch.getFirst();
+        assertThat(dead.getStatus()).isEqualTo(OutboxMailStatus.FAILED);
+        assertThat(dead.getBody()).isEmpty();
+        verify(outboxMailRepository).saveAll(Set.of(dead));
+    }
+
+    @ParameterizedTest
+    @EnumSource(MailExecutorProperties.Mode.class)
+    void claimsOnlyWhatTheExecutorCanTakeWhileSmtpStalls(MailExecutorProperties.Mode mode) throws Exception {
+        MailOutboxProperties outboxProperties = new MailOutboxProperties();
+        outboxProperties.setBatchSize(1);
+        outboxProperties.setMaxBatchesPerRun(10);
+        MailExecutorProperties executorProperties = new MailExecutorProperties();
+        executorProperties.setMode(mode);
+        executorProperties.setConcurrency(2);
+        executorProperties.setQueueCapacity(1);
+        worker = newWorker(outboxProperties, executorProperties);
+
+        AtomicLong nextId = new AtomicLong();
+        when(outboxMailRepository.lockDue(any(), anyInt()))
+                .thenAnswer(invocation -> mails(nextId.incrementAndGet(), 1));
+        smtpSink.stall();
+
+        // Two sends block on the stalled server and one waits in the queue; neither poll waits for them
+        worker.drain();
+        awaitGauge("executor.active", 2);
+        awaitGauge("executor.queued", 1);
+        worker.drain();
+        verify(outboxMailRepository, times(3)).lockDue(any(), anyInt());
+
+        smtpSink.resume();
+        awaitSends();
+
+        assertThat(smtpSink.deliveredRecipients()).hasSize(3);
+        assertThat(meterRegistry.counter("mail.outbox.sent").count()).isEqualTo(3);
+    }
+
+    @Test
+    void blockedSendsDoNotHoldUpOtherScheduledJobs() throws Exception {
+        CountDownLatch smtpReleased = new CountDownLatch(1);
+        JavaMailSender blockingSender = mock(JavaMailSender.class);
+        when(blockingSender.createMimeMessage()).thenAnswer(invocation -> mailSender.createMimeMessage());
+        doAnswer(invocation -> smtpReleased.await(10, TimeUnit.SECONDS))
+                .when(blockingSender).send(any(MimeMessage[].class));
+        meterRegistry = new SimpleMeterRegistry();
+        worker = new MailOutboxWorker(outboxMailRepository, blockingSender, new MailOutboxProperties(),
+                transactionManager, mailExecutor, new MailExecutorProperties(), meterRegistry);
+        AtomicLong nextId = new AtomicLong();
+        when(outboxMailRepository.lockDue(any(), anyInt()))
+                .thenAnswer(invocation -> mails(nextId.incrementAndGet(), 1));
+
+        // One thread, as Spring Boot's scheduler has unless spring.task.scheduling.pool.size is set
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.initialize();
+        CountDownLatch otherJobRuns = new CountDownLatch(5);
+        try {
+            scheduler.scheduleWithFixedDelay(worker::drain, Duration.ofMillis(10));
+            scheduler.scheduleWithFixedDelay(otherJobRuns::countDown, Duration.ofMillis(10));
+
+            assertThat(otherJobRuns.await(5, TimeUnit.SECONDS)).isTrue();
+            verify(blockingSender, timeout(5_000).atLeastOnce()).send(any(MimeMessage[].class));
+        } finally {
+            smtpReleased.countDown();
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    void claimsNoMoreThanTheSendRateAllows() throws Exception {
+        MailOutboxProperties outboxProperties = new MailOutboxProperties();
+        outboxProperties.setBatchSize(2);
+        outboxProperties.setMaxSendRate(3);
+        worker = newWorker(outboxProperties, new MailExecutorProperties());
+        AtomicLong nextId = new AtomicLong();
+        when(outboxMailRepository.lockDue(any(), anyInt())).thenAnswer(invocation -> {
+            int limit = invocation.getArgument(1);
+            return mails(nextId.getAndAdd(limit) + 1, limit);
+        });
+
+        drainAndAwaitSends();
+
+        verify(outboxMailRepository).lockDue(any(), eq(2));
+        verify(outboxMailRepository).lockDue(any(), eq(1));
+        assertThat(smtpSink.deliveredRecipients()).hasSize(3);
+    }
+
+    private MailOutboxWorker newWorker(MailOutboxProperties outboxProperties, MailExecutorProperties executorProperties) {
+        if (mailExecutor != null) {
+            mailExecutor.shutdownNow();
+        }
+        meterRegistry = new SimpleMeterRegistry();
+        mailExecutor = new MailExecutorConfig().mailExecutor(executorProperties, meterRegistry);
+        return new MailOutboxWorker(outboxMailRepository, mailSender, outboxProperties, transactionManager,
+                mailExecutor, executorProperties, meterRegistry);
+    }
+
+    /**
+     * Drains once and waits for the batches it dispatched, which the worker itself does not.
+     */
+    private void drainAndAwaitSends() throws InterruptedException {
+        worker.drain();
+        awaitSends();
+    }
+
+    private void awaitSends() throws InterruptedException {
+        mailExecutor.shutdown();
+        assertThat(mailExecutor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).tag("name", "mail").gauge().value();
+    }
+
+    /**
+     * The poll returns before the dispatched sends have reached the stalled server.
+     */
+    private void awaitGauge(String name, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (gauge(name) != expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(gauge(name)).isEqualTo(expected);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> deletedIds() {
+        ArgumentCaptor<Iterable<Long>> captor = ArgumentCaptor.forClass(Iterable.class);
+        verify(outboxMailRepository).deleteAllByIdInBatch(captor.capture());
+        List<Long> ids = new ArrayList<>();
+        captor.getValue().forEach(ids::add);
+        return ids;
+    }
+
+    private static List<OutboxMail> mails(int count) {
+        return mails(1, count);
+    }
+
+    private static List<OutboxMail> mails(long firstId, int count) {
+        return new ArrayList<>(LongStream.range(firstId, firstId + count).mapToObj(id -> {
+            OutboxMail mail = new OutboxMail();
+            mail.setId(id);
+            mail.setRecipient("user" + id + "@example.com");
+            mail.setSubject("Subject " + id);
+            mail.setBody("<p>Hello " + id + "</p>");
+            mail.setNextAttemptAt(LocalDateTime.now());
+            return mail;
+        }).toList());
+    }
+}
@@ -0,0 +1,79 @@
+package com.fernirx.lms.infrastructure.message;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MailTemplateRendererTest {
+    private SpringTemplateEngine templateEngine;
+    private MailTemplateRenderer renderer;
+
+    @BeforeEach
+    void setUp() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+        renderer = new MailTemplateRenderer(templateEngine);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"alice", "O'Brien <script>&\"x\"", "Nguyễn Văn A"})
+    void welcomeMatchesThymeleafOutput(String username) {
+        MailTemplateRenderer.CompiledMailTemplate template = renderer.compile(
+                "emails/new-user-account",
+                Map.of("loginUrl", "https://lms.example.com/login?next=a&b"),
+                "userName", "username", "temporaryPassword");
+
+        Context context = new Context();
+        context.setVariable("userName", username);
+        context.setVariable("username", username);
+        context.setVariable("temporaryPassword", "p@ss<word>&1");
+        context.setVariable("loginUrl", "https://lms.example.com/login?next=a&b");
+
+        assertThat(template.render(username, username, "p@ss<word>&1"))
+                .isEqualTo(templateEngine.process("emails/new-user-account", context));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"bob", "<b>&amp;</b>"})
+    void resetPasswordMatchesThymeleafOutput(String userName) {
+        MailTemplateRenderer.CompiledMailTemplate template = renderer.compile(
+                "emails/reset-password-otp", Map.of("expirationMinutes", 5L), "userName", "otpCode");
+
+        Context context = new Context();
+        context.setVariable("userName", userName);
+        context.setVariable("otpCode", "012345");
+        context.setVariable("expirationMinutes", 5L);
+
+        assertThat(template.render(userName, "012345"))
+                .isEqualTo(templateEngine.process("emails/reset-password-otp", context));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"Class moved to room B201", "Looks like a slot: @@lms-slot-0@@ and @@lms-slot-9@@"})
+    void notificationKeepsConstantTextThatLooksLikeAMarker(String content) {
+        MailTemplateRenderer.CompiledMailTemplate template = renderer.compile(
+                "emails/notification", Map.of("title", "Notice", "content", content), "recipientName");
+
+        Context context = new Context();
+        context.setVariable("title", "Notice");
+        context.setVariable("content", content);
+        context.setVariable("recipientName", "Nguyễn Văn A");
+
+        assertThat(template.render("Nguyễn Văn A"))
+                .isEqualTo(templateEngine.process("emails/notification", context));
+    }
+}
@@ -0,0 +1,73 @@
+package com.fernirx.lms.infrastructure.persistence;
+
+import com.fernirx.lms.infrastructure.properties.SqlStatementGuardProperties;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(OutputCaptureExtension.class)
+class SqlStatementGuardFilterTest {
+    private SqlStatementCounter counter;
+    private SqlStatementGuardFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        counter = new SqlStatementCounter();
+        SqlStatementGuardProperties properties = new SqlStatementGuardProperties();
+        properties.setMaxStatementsPerRequest(2);
+        filter = new SqlStatementGuardFilter(counter, properties);
+    }
+
+    @Test
+    void staysQuietWithinTheBudget(CapturedOutput output) throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/users"), new MockHttpServletResponse(), issuing(2));
+
+        assertThat(output).doesNotContain("SQL statements");
+    }
+
+    @Test
+    void warnsAboutRequestsThatExceedTheBudget(CapturedOutput output) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/users"), response, issuing(3));
+
+        assertThat(output).contains("GET /users issued 3 SQL statements, more than the limit of 2");
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void skipsAsyncRequests(CapturedOutput output) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users/export");
+        request.setAsyncSupported(true);
+        FilterChain chain = (req, res) -> {
+            issuing(3).doFilter(req, res);
+            req.startAsync();
+        };
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertThat(output).doesNotContain("SQL statements");
+    }
+
+    @Test
+    void ignoresStatementsOutsideARequest() {
+        counter.inspect("select 1");
+
+        assertThat(counter.close()).isZero();
+    }
+
+    private FilterChain issuing(int statements) {
+        return (request, response) -> {
+            for (int i = 0; i < statements; i++) {
+                counter.inspect("select " + i);
+            }
+        };
+    }
+}
@@ -0,0 +1,54 @@
+package com.fernirx.lms.user.config;
+
+import com.fernirx.lms.infrastructure.properties.UserImportProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors for bulk user imports. Imports run one per thread on a small bounded pool, so an upload storm is
+ * rejected instead of queuing files on disk; each import hashes its passwords on a separate CPU-sized pool that
+ * leaves half the cores to request threads and logins by default.
+ */
+@Configuration
+public class UserImportConfig {
+    public static final String IMPORT_EXECUTOR = "userImportExecutor";
+    public static final String HASH_EXECUTOR = "userImportHashExecutor";
+
+    @Bean(name = IMPORT_EXECUTOR, destroyMethod = "shutdown")
+    public ExecutorService userImportExecutor(UserImportProperties properties, MeterRegistry meterRegistry) {
+        int poolSize = properties.getMaxConcurrentImports();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                properties.getQueueCapacity() > 0
+                        ? new ArrayBlockingQueue<>(properties.getQueueCapacity())
+                        : new SynchronousQueue<>(),
+                newThreadFactory("user-import-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "user-import");
+    }
+
+    @Bean(name = HASH_EXECUTOR, destroyMethod = "shutdown")
+    public ExecutorService userImportHashExecutor(UserImportProperties properties, MeterRegistry meterRegistry) {
+        ExecutorService executor = Executors.newFixedThreadPool(properties.resolvedHashParallelism(),
+                newThreadFactory("user-import-hash-"));
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "user-import-hash");
+    }
+
+    private static ThreadFactory newThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -2,19 +2,27 @@ package com.fernirx.lms.user.controller;
 
 import com.fernirx.lms.common.annotations.docs.StandardResponseDoc;
 import com.fernirx.lms.common.constants.ApiConstants;
+import com.fernirx.lms.common.dtos.responses.CursorPage;
 import com.fernirx.lms.common.dtos.responses.SuccessResponse;
 import com.fernirx.lms.common.utils.ApiFormatter;
 import com.fernirx.lms.user.dto.request.UserCreateRequest;
+import com.fernirx.lms.user.dto.request.UserFileFormat;
 import com.fernirx.lms.user.dto.request.UserUpdateRequest;
+import com.fernirx.lms.user.dto.response.UserImportJobResponse;
 import com.fernirx.lms.user.dto.response.UserResponse;
+import com.fernirx.lms.user.service.UserExportService;
+import com.fernirx.lms.user.service.UserImportService;
 import com.fernirx.lms.user.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping(ApiConstants.USERS_PATH)
@@ -22,19 +30,74 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final UserExportService userExportService;
+    private final UserImportService userImportService;
 
     @GetMapping
-    @StandardResponseDoc(value = "Get users by status")
+    @StandardResponseDoc(
+            value = "Get users by status",
+            description = "Get one page of users in ID order; pass nextCursor back as cursor for the next page"
+    )
     @PreAuthorize("hasAnyRole('ADMIN', 'DEPT_HEAD', 'ACAD_AFFAIRS')")
-    public ResponseEntity<SuccessResponse<List<UserResponse>>> getUsersByStatus(
-            @RequestParam(required = false, defaultValue = "false") boolean status) {
-        List<UserResponse> users = userService.getUsersByStatus(status);
+    public ResponseEntity<SuccessResponse<CursorPage<UserResponse>>> getUsersByStatus(
+            @RequestParam(required = false, defaultValue = "false") boolean status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<UserResponse> users = userService.getUsersByStatus(status, cursor, size);
         return ResponseEntity.ok(SuccessResponse.of(
                 ApiFormatter.resourcesRetrieved("User"),
                 users
         ));
     }
 
+    @GetMapping(ApiConstants.EXPORT_PATH)
+    @StandardResponseDoc(
+            value = "Export users by status",
+            description = "Stream every user with the given status in ID order, as NDJSON or CSV"
+    )
+    @PreAuthorize("hasAnyRole('ADMIN', 'DEPT_HEAD', 'ACAD_AFFAIRS')")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(required = false, defaultValue = "false") boolean status,
+            @RequestParam(required = false, defaultValue = "NDJSON") UserFileFormat format) {
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("users." + format.getFileExtension())
+                        .build()
+                        .toString())
+                .body(userExportService.export(status, format));
+    }
+
+    @PostMapping(value = ApiConstants.IMPORT_PATH, consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @StandardResponseDoc(
+            value = "Import users",
+            description = "Create users in bulk from a CSV or NDJSON file; the import runs in the background"
+    )
+    @PreAuthorize("hasAnyRole('ADMIN', 'ACAD_AFFAIRS')")
+    public ResponseEntity<SuccessResponse<UserImportJobResponse>> importUsers(
+            @RequestParam MultipartFile file,
+            @RequestParam(required = false, defaultValue = "CSV") UserFileFormat format) {
+        UserImportJobResponse job = userImportService.startImport(file, format);
+        return ResponseEntity.ok(SuccessResponse.of(
+                ApiFormatter.resourceCreated("User import"),
+                job
+        ));
+    }
+
+    @GetMapping(ApiConstants.IMPORT_PATH + "/{id}")
+    @StandardResponseDoc(
+            value = "Get a user import",
+            description = "Get the progress of a user import and the rows it could not import"
+    )
+    @PreAuthorize("hasAnyRole('ADMIN', 'ACAD_AFFAIRS')")
+    public ResponseEntity<SuccessResponse<UserImportJobResponse>> getUserImport(@PathVariable Long id) {
+        UserImportJobResponse job = userImportService.getJob(id);
+        return ResponseEntity.ok(SuccessResponse.of(
+                ApiFormatter.resourcesRetrieved("User import"),
+                job
+        ));
+    }
+
     @GetMapping("/{id}")
     @StandardResponseDoc(
             value = "Get a user",
@@ -0,0 +1,12 @@
+package com.fernirx.lms.user.dto;
+
+/**
+ * One row of an import file, as read. {@code error} is set instead of the fields when the row could not be parsed.
+ */
+public record UserImportRow(long lineNumber, String username, String email, String password, String roleId,
+                            String error) {
+
+    public static UserImportRow malformed(long lineNumber, String error) {
+        return new UserImportRow(lineNumber, null, null, null, null, error);
+    }
+}
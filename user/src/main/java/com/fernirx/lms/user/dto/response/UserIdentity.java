@@ -0,0 +1,7 @@
+package com.fernirx.lms.user.dto.response;
+
+/**
+ * The few user fields the password-reset flow needs, small enough to cache per email.
+ */
+public record UserIdentity(Long id, String username, String email) {
+}
@@ -0,0 +1,4 @@
+package com.fernirx.lms.user.dto.response;
+
+public record UserImportErrorResponse(long lineNumber, String username, String message) {
+}
@@ -0,0 +1,30 @@
+package com.fernirx.lms.user.dto.response;
+
+import com.fernirx.lms.user.dto.request.UserFileFormat;
+import com.fernirx.lms.user.entity.UserImportJobStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * An import and its progress. {@code processedRows} is {@code importedRows} plus {@code failedRows};
+ * {@code errors} lists failed rows in file order, up to the configured limit.
+ */
+@Data
+@Builder
+public class UserImportJobResponse {
+    private Long id;
+    private String fileName;
+    private UserFileFormat format;
+    private UserImportJobStatus status;
+    private int processedRows;
+    private int importedRows;
+    private int failedRows;
+    private String lastError;
+    private List<UserImportErrorResponse> errors;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+}
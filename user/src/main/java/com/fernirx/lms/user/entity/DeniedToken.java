@@ -0,0 +1,37 @@
+package com.fernirx.lms.user.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A revoked user ({@code u:<id>}) or access token ({@code t:<jti>}), kept until every token it covers has expired.
+ */
+@Entity
+@Table(name = "token_denylist")
+@Getter
+@Setter
+@NoArgsConstructor
+public class DeniedToken {
+    @Id
+    @Column(name = "entry", nullable = false, length = 64)
+    private String entry;
+
+    @NotNull
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public DeniedToken(String entry, LocalDateTime expiresAt) {
+        this.entry = entry;
+        this.expiresAt = expiresAt;
+    }
+}
@@ -1,5 +1,6 @@
 package com.fernirx.lms.user.entity;
 
+import com.fernirx.lms.user.service.RoleWriteListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -14,10 +15,12 @@ import java.util.Set;
 
 @Entity
 @Table(name = "roles")
+@EntityListeners(RoleWriteListener.class)
 @Getter
 @Setter
 public class Role {
     @Id
+    // Role ids are bit positions in the authority mask (RoleAuthorityRegistry), so they stay dense and small
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id", nullable = false)
     private Long id;
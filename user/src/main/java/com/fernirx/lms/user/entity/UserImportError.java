@@ -0,0 +1,38 @@
+package com.fernirx.lms.user.entity;
+
+import com.fernirx.lms.infrastructure.persistence.IdSequences;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * A row of an import file that was not imported, and why.
+ */
+@Entity
+@Table(name = "user_import_errors")
+@Getter
+@Setter
+public class UserImportError {
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "user_import_errors_id")
+    @TableGenerator(name = "user_import_errors_id", table = IdSequences.TABLE, pkColumnName = IdSequences.NAME_COLUMN,
+            valueColumnName = IdSequences.VALUE_COLUMN, pkColumnValue = "user_import_errors",
+            allocationSize = IdSequences.ALLOCATION_SIZE)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @NotNull
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "line_number", nullable = false)
+    private long lineNumber;
+
+    @Column(name = "username")
+    private String username;
+
+    @NotNull
+    @Column(name = "message", nullable = false, length = 500)
+    private String message;
+}
@@ -0,0 +1,69 @@
+package com.fernirx.lms.user.entity;
+
+import com.fernirx.lms.infrastructure.persistence.IdSequences;
+import com.fernirx.lms.user.dto.request.UserFileFormat;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * One uploaded user file. The counters are advanced in the same transaction as each chunk's inserts, so they
+ * always match the users actually created.
+ */
+@Entity
+@Table(name = "user_import_jobs")
+@Getter
+@Setter
+public class UserImportJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "user_import_jobs_id")
+    @TableGenerator(name = "user_import_jobs_id", table = IdSequences.TABLE, pkColumnName = IdSequences.NAME_COLUMN,
+            valueColumnName = IdSequences.VALUE_COLUMN, pkColumnValue = "user_import_jobs",
+            allocationSize = IdSequences.ALLOCATION_SIZE)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "format", nullable = false, length = 16)
+    private UserFileFormat format;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private UserImportJobStatus status = UserImportJobStatus.PENDING;
+
+    @Column(name = "processed_rows", nullable = false)
+    private int processedRows;
+
+    @Column(name = "imported_rows", nullable = false)
+    private int importedRows;
+
+    @Column(name = "failed_rows", nullable = false)
+    private int failedRows;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_by")
+    private Long createdBy;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,8 @@
+package com.fernirx.lms.user.entity;
+
+public enum UserImportJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
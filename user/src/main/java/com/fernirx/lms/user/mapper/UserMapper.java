@@ -6,20 +6,21 @@ import com.fernirx.lms.user.dto.request.UserCreateRequest;
 import com.fernirx.lms.user.dto.response.UserResponse;
 import com.fernirx.lms.user.entity.Role;
 import com.fernirx.lms.user.entity.User;
+import com.fernirx.lms.user.service.RoleRegistry;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
 import java.util.Collections;
-import java.util.List;
 import java.util.Set;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", uses = RoleRegistry.class)
 public interface UserMapper {
     User toEntity(UserCreateRequest user);
 
-    @Mapping(source = "role.name", target = "roleName")
+    @Mapping(source = "role", target = "roleName", qualifiedByName = "roleName")
+    @Mapping(source = "isDeleted", target = "isDelete")
     UserResponse toDto(User user);
 
     @Mapping(target = "authorities", expression = "java(mapAuthorities(user.getRole()))")
@@ -28,6 +29,4 @@ public interface UserMapper {
     default Set<GrantedAuthority> mapAuthorities(Role role) {
         return Collections.singleton(new SimpleGrantedAuthority(role.getName()));
     }
-
-    List<UserResponse> toListDto(List<User> user);
 }
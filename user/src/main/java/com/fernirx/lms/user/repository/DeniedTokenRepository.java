@@ -0,0 +1,29 @@
+package com.fernirx.lms.user.repository;
+
+import com.fernirx.lms.user.entity.DeniedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DeniedTokenRepository extends JpaRepository<DeniedToken, String> {
+
+    /**
+     * Find entries that still cover unexpired tokens
+     */
+    List<DeniedToken> findByExpiresAtAfter(LocalDateTime now);
+
+    /**
+     * Delete entries whose tokens have all expired
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM DeniedToken d WHERE d.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
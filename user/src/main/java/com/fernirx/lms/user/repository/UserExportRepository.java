@@ -0,0 +1,49 @@
+package com.fernirx.lms.user.repository;
+
+import com.fernirx.lms.user.dto.response.UserResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Reads users for export as a MySQL streaming result set: a forward-only, read-only statement with fetch size
+ * {@link Integer#MIN_VALUE} makes Connector/J hand over rows as they arrive instead of buffering the whole
+ * result, so memory stays flat however many users there are. The connection is held until the last row is read.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserExportRepository {
+    private static final String SELECT_BY_STATUS_SQL = "SELECT u.id, r.name, u.username, u.email, u.is_deleted, " +
+            "u.created_at, u.updated_at FROM users u JOIN roles r ON r.id = u.role_id " +
+            "WHERE u.is_deleted = ? ORDER BY u.id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Stream users by deletion status in id order, which {@code idx_users_deleted_id} returns without a sort,
+     * so the first row is available as soon as the query starts
+     */
+    public void forEachByIsDeleted(boolean deleted, Consumer<UserResponse> action) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    SELECT_BY_STATUS_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(Integer.MIN_VALUE);
+            statement.setBoolean(1, deleted);
+            return statement;
+        }, rs -> {
+            action.accept(new UserResponse(
+                    rs.getLong(1),
+                    rs.getString(2),
+                    rs.getString(3),
+                    rs.getString(4),
+                    rs.getBoolean(5),
+                    rs.getObject(6, LocalDateTime.class),
+                    rs.getObject(7, LocalDateTime.class)));
+        });
+    }
+}
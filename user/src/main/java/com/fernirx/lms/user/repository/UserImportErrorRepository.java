@@ -0,0 +1,21 @@
+package com.fernirx.lms.user.repository;
+
+import com.fernirx.lms.user.dto.response.UserImportErrorResponse;
+import com.fernirx.lms.user.entity.UserImportError;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface UserImportErrorRepository extends JpaRepository<UserImportError, Long> {
+
+    /**
+     * Find the row errors of an import in file order
+     */
+    @Query("SELECT new com.fernirx.lms.user.dto.response.UserImportErrorResponse(e.lineNumber, e.username, e.message) " +
+            "FROM UserImportError e WHERE e.jobId = :jobId ORDER BY e.lineNumber")
+    List<UserImportErrorResponse> findResponsesByJobId(@Param("jobId") Long jobId);
+}
@@ -0,0 +1,20 @@
+package com.fernirx.lms.user.repository;
+
+import com.fernirx.lms.user.entity.UserImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UserImportJobRepository extends JpaRepository<UserImportJob, Long> {
+
+    /**
+     * Add one chunk's outcome to the job's counters
+     */
+    @Modifying
+    @Query("UPDATE UserImportJob j SET j.processedRows = j.processedRows + :imported + :failed, " +
+            "j.importedRows = j.importedRows + :imported, j.failedRows = j.failedRows + :failed WHERE j.id = :id")
+    void addProgress(@Param("id") Long id, @Param("imported") int imported, @Param("failed") int failed);
+}
@@ -1,17 +1,23 @@
 package com.fernirx.lms.user.repository;
 
+import com.fernirx.lms.user.dto.response.UserIdentity;
+import com.fernirx.lms.user.dto.response.UserResponse;
 import com.fernirx.lms.user.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    String USER_RESPONSE = "new com.fernirx.lms.user.dto.response.UserResponse(" +
+            "u.id, r.name, u.username, u.email, u.isDeleted, u.createdAt, u.updatedAt)";
 
     /**
      * Find user by username and fetch role eagerly
@@ -39,16 +45,55 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUsername(String username);
 
     /**
-     * Find all users by deletion status
+     * Find the next page of users by deletion status, in id order after {@code afterId}.
+     * Seeks on {@code idx_users_deleted_id}, so a deep page costs the same as the first.
      */
-    List<User> findByIsDeleted(Boolean isDeleted);
+    @Query("SELECT " + USER_RESPONSE + " FROM User u JOIN u.role r " +
+            "WHERE u.isDeleted = :deleted AND u.id > :afterId ORDER BY u.id")
+    List<UserResponse> findPageByIsDeleted(@Param("deleted") boolean deleted,
+                                           @Param("afterId") long afterId,
+                                           Limit limit);
 
     /**
-     * Find active user by ID (not deleted)
+     * Find an active user by ID as a response, with its role name, in one query
+     */
+    @Query("SELECT " + USER_RESPONSE + " FROM User u JOIN u.role r WHERE u.id = :id AND u.isDeleted = false")
+    Optional<UserResponse> findActiveResponseById(@Param("id") Long id);
+
+    /**
+     * Find the identity fields of the user with the given email, without loading the entity
+     */
+    @Query("SELECT new com.fernirx.lms.user.dto.response.UserIdentity(u.id, u.username, u.email) " +
+            "FROM User u WHERE u.email = :email")
+    Optional<UserIdentity> findIdentityByEmail(@Param("email") String email);
+
+    /**
+     * Find which of the given usernames are already taken
+     */
+    @Query("SELECT u.username FROM User u WHERE u.username IN :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    /**
+     * Find which of the given emails are already taken
+     */
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * Find active user by ID (not deleted) for updates
      */
     @Query("SELECT u FROM User u WHERE u.id = :id AND u.isDeleted = false")
     Optional<User> findActiveById(@Param("id") Long id);
 
+    /**
+     * Replace the password hash only if it still equals {@code currentHash}, so a concurrent password reset wins
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.id = :id AND u.password = :currentHash")
+    int updatePasswordHash(@Param("id") Long id,
+                           @Param("currentHash") String currentHash,
+                           @Param("newHash") String newHash);
+
     /**
      * Soft delete user
      */
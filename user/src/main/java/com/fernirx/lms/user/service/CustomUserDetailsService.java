@@ -9,6 +9,7 @@ import com.fernirx.lms.user.repository.UserRepository;
 import lombok.AllArgsConstructor;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -17,10 +18,11 @@ import java.util.Collections;
 
 @Service
 @AllArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final UserService userService;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
@@ -34,4 +36,22 @@ public class CustomUserDetailsService implements UserDetailsService {
 
         return userMapper.toCustomUserDetails(user);
     }
+
+    /**
+     * Called by the authentication provider after a successful login whose stored hash needs a new cost or prefix.
+     * The new hash is persisted asynchronously; the login itself does not wait for the write.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        CustomUserDetails userDetails = (CustomUserDetails) user;
+        userService.rehashPassword(userDetails.getId(), userDetails.getPassword(), newPassword);
+        return new CustomUserDetails(
+                userDetails.getId(),
+                userDetails.getUsername(),
+                newPassword,
+                userDetails.getEmail(),
+                userDetails.isDeleted(),
+                userDetails.getAuthorities()
+        );
+    }
 }
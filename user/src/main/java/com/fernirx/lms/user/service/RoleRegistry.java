@@ -0,0 +1,107 @@
+package com.fernirx.lms.user.service;
+
+import com.fernirx.lms.common.enums.ErrorCode;
+import com.fernirx.lms.common.exceptions.ResourceNotFoundException;
+import com.fernirx.lms.infrastructure.security.RoleAuthorityRegistry;
+import com.fernirx.lms.user.entity.Role;
+import com.fernirx.lms.user.repository.RoleRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.mapstruct.Named;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory copy of the {@code roles} table, a handful of rows that almost never change. Names are kept in an
+ * array indexed by role id and a map by name, so role checks and role names need no query, and services attach
+ * roles to users as references without loading them.
+ * <p>
+ * Loaded at startup, together with {@link RoleAuthorityRegistry}. {@link #refresh()} reloads both and swaps the
+ * snapshot atomically; it runs after every committed role write made through JPA (see {@link RoleWriteListener}).
+ * Other instances pick up such a change on their next refresh or restart.
+ */
+@Slf4j
+@Component
+public class RoleRegistry {
+    private final RoleRepository roleRepository;
+    private final RoleAuthorityRegistry roleAuthorityRegistry;
+
+    private volatile Snapshot snapshot = new Snapshot(new String[0], Map.of());
+
+    public RoleRegistry(RoleRepository roleRepository, RoleAuthorityRegistry roleAuthorityRegistry) {
+        this.roleRepository = roleRepository;
+        this.roleAuthorityRegistry = roleAuthorityRegistry;
+    }
+
+    // ==== PUBLIC API ====
+
+    /**
+     * Reloads roles from the database. Role authorities are assigned before any token is issued or verified.
+     */
+    @PostConstruct
+    public void refresh() {
+        List<Role> roles = roleRepository.findAll();
+        long maxId = roles.stream().mapToLong(Role::getId).max().orElse(0);
+        String[] namesById = new String[Math.toIntExact(maxId + 1)];
+        Map<String, Long> idsByName = new HashMap<>();
+        Map<Long, String> roleNamesById = new HashMap<>();
+        for (Role role : roles) {
+            namesById[role.getId().intValue()] = role.getName();
+            idsByName.put(role.getName(), role.getId());
+            roleNamesById.put(role.getId(), role.getName());
+        }
+        roleAuthorityRegistry.load(roleNamesById);
+        this.snapshot = new Snapshot(namesById, Map.copyOf(idsByName));
+        log.info("Loaded {} roles into the role registry", roles.size());
+    }
+
+    public boolean contains(Long id) {
+        return nameOf(id) != null;
+    }
+
+    /**
+     * @return the role's name, such as {@code ROLE_ADMIN}, or {@code null} if there is no such role
+     */
+    public String nameOf(Long id) {
+        String[] namesById = snapshot.namesById();
+        if (id == null || id < 0 || id >= namesById.length) {
+            return null;
+        }
+        return namesById[id.intValue()];
+    }
+
+    /**
+     * @return the id of the role with the given name, or {@code null} if there is no such role
+     */
+    public Long idOf(String name) {
+        return snapshot.idsByName().get(name);
+    }
+
+    /**
+     * Name of a user's role, read from the registry so an unloaded role proxy stays unloaded.
+     */
+    @Named("roleName")
+    public String roleName(Role role) {
+        return role == null ? null : nameOf(role.getId());
+    }
+
+    /**
+     * Reference to the role for assigning it to a user; the role row is not read.
+     *
+     * @throws ResourceNotFoundException if there is no such role
+     */
+    public Role getReference(Long id) {
+        if (!contains(id)) {
+            throw new ResourceNotFoundException(ErrorCode.ROLE_NOT_FOUND, "Role", "id", id);
+        }
+        return roleRepository.getReferenceById(id);
+    }
+
+    // ==== PRIVATE HELPERS ====
+
+    private record Snapshot(String[] namesById, Map<String, Long> idsByName) {
+    }
+}
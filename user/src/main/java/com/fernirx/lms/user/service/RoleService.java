@@ -1,9 +1,7 @@
 package com.fernirx.lms.user.service;
 
-import com.fernirx.lms.common.enums.ErrorCode;
 import com.fernirx.lms.common.exceptions.ResourceNotFoundException;
 import com.fernirx.lms.user.entity.Role;
-import com.fernirx.lms.user.repository.RoleRepository;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -11,15 +9,15 @@ import org.springframework.stereotype.Service;
 @AllArgsConstructor
 public class RoleService {
 
-    private final RoleRepository roleRepository;
+    private final RoleRegistry roleRegistry;
 
+    /**
+     * Returns a reference to the role for assigning it to a user, checked against {@link RoleRegistry}
+     * instead of the database.
+     *
+     * @throws ResourceNotFoundException if there is no such role
+     */
     public Role getRoleById(Long id) {
-        return roleRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        ErrorCode.ROLE_NOT_FOUND,
-                        "Role",
-                        "id",
-                        id
-                ));
+        return roleRegistry.getReference(id);
     }
 }
@@ -0,0 +1,38 @@
+package com.fernirx.lms.user.service;
+
+import com.fernirx.lms.user.entity.Role;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Refreshes the {@link RoleRegistry} once a transaction that wrote a role commits, so a rolled-back write is
+ * never seen. Created by Hibernate through Spring's bean container; the registry is looked up lazily because
+ * it needs the entity manager factory this listener is created with.
+ */
+public class RoleWriteListener {
+    private final ObjectProvider<RoleRegistry> roleRegistry;
+
+    public RoleWriteListener(ObjectProvider<RoleRegistry> roleRegistry) {
+        this.roleRegistry = roleRegistry;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onRoleWritten(Role role) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            roleRegistry.getObject().refresh();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                roleRegistry.getObject().refresh();
+            }
+        });
+    }
+}
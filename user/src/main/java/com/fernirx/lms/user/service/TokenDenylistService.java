@@ -0,0 +1,209 @@
+package com.fernirx.lms.user.service;
+
+import com.fernirx.lms.common.utils.BloomFilter;
+import com.fernirx.lms.infrastructure.properties.JwtProperties;
+import com.fernirx.lms.infrastructure.properties.TokenDenylistProperties;
+import com.fernirx.lms.infrastructure.security.TokenDenylist;
+import com.fernirx.lms.infrastructure.security.VerifiedToken;
+import com.fernirx.lms.user.entity.DeniedToken;
+import com.fernirx.lms.user.repository.DeniedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Denylist of revoked users and access tokens.
+ * Requests probe a Bloom filter first, which answers "not revoked" for almost every token without touching
+ * the exact set; only a positive probe looks up the exact entry and its expiry. Revocations are persisted in
+ * {@code token_denylist} and applied locally once the caller's transaction commits, so a rolled-back revocation
+ * or restore never takes effect; other nodes pick them up on the next periodic rebuild.
+ * <p>
+ * A rebuild may read the table before a local change commits and swap in its snapshot after. Local changes
+ * applied while a rebuild runs are therefore recorded and replayed onto the new snapshot before the swap.
+ */
+@Service
+@RequiredArgsConstructor
+public class TokenDenylistService implements TokenDenylist {
+    private static final String USER_PREFIX = "u:";
+    private static final String TOKEN_PREFIX = "t:";
+
+    private final DeniedTokenRepository deniedTokenRepository;
+    private final JwtProperties jwtProperties;
+    private final TokenDenylistProperties tokenDenylistProperties;
+    // Guards snapshot writes and the record of changes applied during a rebuild
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+    // Local changes applied since the running rebuild started, or null when no rebuild runs
+    private List<Consumer<Snapshot>> changesDuringRebuild;
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    // ==== PUBLIC API ====
+
+    @Override
+    public boolean isDenied(VerifiedToken token) {
+        Snapshot current = snapshot;
+        long userId = token.userId();
+        if (current.filter().mightContain(userId) && current.isListed(USER_PREFIX + userId)) {
+            return true;
+        }
+        String tokenId = token.tokenId();
+        return tokenId != null
+                && current.filter().mightContain(tokenId)
+                && current.isListed(TOKEN_PREFIX + tokenId);
+    }
+
+    /**
+     * Revokes every token of a user, long enough for any refresh token issued before now to expire.
+     */
+    @Transactional
+    public void denyUser(long userId) {
+        Duration longestLifetime = max(jwtProperties.getExpiration(), jwtProperties.getRefreshExpiration());
+        deny(USER_PREFIX + userId, Instant.now().plus(longestLifetime));
+    }
+
+    @Transactional
+    public void allowUser(long userId) {
+        String entry = USER_PREFIX + userId;
+        deniedTokenRepository.deleteById(entry);
+        afterCommit(current -> current.entries().remove(entry));
+    }
+
+    /**
+     * Revokes a single access token until it expires on its own.
+     */
+    @Transactional
+    public void denyToken(VerifiedToken token) {
+        if (token.tokenId() != null) {
+            deny(TOKEN_PREFIX + token.tokenId(), token.expiresAt());
+        }
+    }
+
+    /**
+     * Drops expired entries and rebuilds the filter from the table, picking up revocations made on other nodes.
+     */
+    @Scheduled(fixedDelayString = "${application.security.denylist.refresh-interval:PT30S}")
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            recordChanges(new ArrayList<>());
+            Snapshot next = load();
+            writeLock.lock();
+            try {
+                // The table may have been read before these commits; replaying them in order keeps the newest state
+                changesDuringRebuild.forEach(change -> change.accept(next));
+                this.snapshot = next;
+            } finally {
+                writeLock.unlock();
+            }
+        } finally {
+            recordChanges(null);
+            rebuildLock.unlock();
+        }
+    }
+
+    // ==== PRIVATE HELPERS ====
+
+    private Snapshot load() {
+        LocalDateTime now = LocalDateTime.now();
+        deniedTokenRepository.deleteExpired(now);
+        List<DeniedToken> entries = deniedTokenRepository.findByExpiresAtAfter(now);
+
+        // Leave headroom for local revocations until the next rebuild
+        int capacity = Math.max(tokenDenylistProperties.getExpectedEntries(), entries.size() * 2);
+        Snapshot next = new Snapshot(
+                new BloomFilter(capacity, tokenDenylistProperties.getFalsePositiveRate()),
+                new ConcurrentHashMap<>(entries.size() * 2)
+        );
+        for (DeniedToken entry : entries) {
+            next.add(entry.getEntry(), toInstant(entry.getExpiresAt()));
+        }
+        return next;
+    }
+
+    private void recordChanges(List<Consumer<Snapshot>> changes) {
+        writeLock.lock();
+        try {
+            changesDuringRebuild = changes;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void deny(String entry, Instant expiresAt) {
+        deniedTokenRepository.save(new DeniedToken(entry, LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault())));
+        afterCommit(current -> current.add(entry, expiresAt));
+    }
+
+    /**
+     * Applies a change to the local snapshot once the current transaction commits, or at once outside one.
+     */
+    private void afterCommit(Consumer<Snapshot> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(change);
+            }
+        });
+    }
+
+    private void apply(Consumer<Snapshot> change) {
+        writeLock.lock();
+        try {
+            change.accept(snapshot);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static Instant toInstant(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    private static Duration max(Duration a, Duration b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+
+    private record Snapshot(BloomFilter filter, Map<String, Instant> entries) {
+
+        void add(String entry, Instant expiresAt) {
+            if (entry.startsWith(USER_PREFIX)) {
+                filter.put(Long.parseLong(entry.substring(USER_PREFIX.length())));
+            } else {
+                filter.put(entry.substring(TOKEN_PREFIX.length()));
+            }
+            entries.put(entry, expiresAt);
+        }
+
+        boolean isListed(String entry) {
+            Instant expiresAt = entries.get(entry);
+            return expiresAt != null && expiresAt.isAfter(Instant.now());
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.fernirx.lms.user.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fernirx.lms.user.dto.request.UserFileFormat;
+import com.fernirx.lms.user.dto.response.UserResponse;
+import com.fernirx.lms.user.repository.UserExportRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes users to the response as they are read from {@link UserExportRepository}, one row at a time.
+ * The first row is flushed straight away so the download starts at once; later rows go out as the buffer fills.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserExportService {
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private static final String CSV_HEADER = "id,roleName,username,email,isDelete,createdAt,updatedAt\r\n";
+
+    private final UserExportRepository userExportRepository;
+    private final ObjectMapper objectMapper;
+
+    // ==== PUBLIC API ====
+
+    public StreamingResponseBody export(boolean deleted, UserFileFormat format) {
+        return outputStream -> {
+            long start = System.nanoTime();
+            RowCounter rows = new RowCounter();
+            try {
+                switch (format) {
+                    case NDJSON -> writeNdjson(deleted, outputStream, rows);
+                    case CSV -> writeCsv(deleted, outputStream, rows);
+                }
+            } catch (UncheckedIOException e) {
+                // The client went away mid-download
+                throw e.getCause();
+            }
+            log.info("Exported {} users as {} in {} ms", rows.count, format, (System.nanoTime() - start) / 1_000_000);
+        };
+    }
+
+    // ==== PRIVATE HELPERS ====
+
+    private void writeNdjson(boolean deleted, OutputStream outputStream, RowCounter rows) throws IOException {
+        // The servlet container closes the response stream; closing the generator only flushes it
+        try (JsonGenerator generator = objectMapper.getFactory()
+                .createGenerator(new BufferedOutputStream(outputStream, BUFFER_SIZE))
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            userExportRepository.forEachByIsDeleted(deleted, user -> {
+                try {
+                    generator.writeStartObject();
+                    generator.writeNumberField("id", user.getId());
+                    generator.writeStringField("roleName", user.getRoleName());
+                    generator.writeStringField("username", user.getUsername());
+                    generator.writeStringField("email", user.getEmail());
+                    generator.writeBooleanField("isDelete", user.getIsDelete());
+                    generator.writeStringField("createdAt", format(user.getCreatedAt()));
+                    generator.writeStringField("updatedAt", format(user.getUpdatedAt()));
+                    generator.writeEndObject();
+                    if (rows.increment() == 1) {
+                        generator.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            if (rows.count > 0) {
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    private void writeCsv(boolean deleted, OutputStream outputStream, RowCounter rows) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(CSV_HEADER);
+        writer.flush();
+        userExportRepository.forEachByIsDeleted(deleted, user -> {
+            try {
+                writer.write(Long.toString(user.getId()));
+                writer.write(',');
+                writeCsvField(writer, user.getRoleName());
+                writer.write(',');
+                writeCsvField(writer, user.getUsername());
+                writer.write(',');
+                writeCsvField(writer, user.getEmail());
+                writer.write(',');
+                writer.write(Boolean.toString(user.getIsDelete()));
+                writer.write(',');
+                writer.write(format(user.getCreatedAt()));
+                writer.write(',');
+                writer.write(format(user.getUpdatedAt()));
+                writer.write("\r\n");
+                rows.increment();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    /**
+     * Quotes the field when needed (RFC 4180), and prefixes values a spreadsheet would run as a formula.
+     */
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        char first = value.charAt(0);
+        boolean formula = first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r';
+        boolean quote = formula || value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        if (formula) {
+            writer.write('\'');
+        }
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static String format(LocalDateTime dateTime) {
+        return dateTime == null ? "" : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(dateTime);
+    }
+
+    private static final class RowCounter {
+        private long count;
+
+        long increment() {
+            return ++count;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.fernirx.lms.user.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fernirx.lms.user.dto.UserImportRow;
+import com.fernirx.lms.user.dto.request.UserFileFormat;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Reads an import file one row at a time, so only the current row is held in memory whatever the file size.
+ * <p>
+ * CSV files start with a header naming the columns {@code username}, {@code email}, {@code password} and
+ * {@code roleId} in any order; fields may be quoted as in RFC 4180. NDJSON files hold one object per line with
+ * the same keys. Rows that cannot be parsed are passed on as {@link UserImportRow#malformed} so they show up in
+ * the error report instead of failing the import. Line numbers are 1-based and, for CSV, count the header.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserImportReader {
+    static final String USERNAME = "username";
+    static final String EMAIL = "email";
+    static final String PASSWORD = "password";
+    static final String ROLE_ID = "roleId";
+
+    private static final List<String> COLUMNS = List.of(USERNAME, EMAIL, PASSWORD, ROLE_ID);
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final char BOM = '\uFEFF';
+
+    private final ObjectMapper objectMapper;
+
+    // ==== PUBLIC API ====
+
+    /**
+     * @throws IllegalArgumentException if a CSV file has no header or the header lacks a column
+     */
+    public void read(InputStream inputStream, UserFileFormat format, Consumer<UserImportRow> rows) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8),
+                BUFFER_SIZE);
+        skipBom(reader);
+        switch (format) {
+            case CSV -> readCsv(reader, rows);
+            case NDJSON -> readNdjson(reader, rows);
+        }
+    }
+
+    // ==== PRIVATE HELPERS ====
+
+    private void readNdjson(BufferedReader reader, Consumer<UserImportRow> rows) throws IOException {
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (JsonProcessingException e) {
+                rows.accept(UserImportRow.malformed(lineNumber, "Invalid JSON: " + e.getOriginalMessage()));
+                continue;
+            }
+            if (!node.isObject()) {
+                rows.accept(UserImportRow.malformed(lineNumber, "Expected a JSON object"));
+                continue;
+            }
+            rows.accept(new UserImportRow(lineNumber, text(node, USERNAME), text(node, EMAIL),
+                    text(node, PASSWORD), text(node, ROLE_ID), null));
+        }
+    }
+
+    private static void readCsv(BufferedReader reader, Consumer<UserImportRow> rows) throws IOException {
+        CsvRecordReader records = new CsvRecordReader(reader);
+        List<String> header = records.next();
+        if (header == null) {
+            throw new IllegalArgumentException("The CSV file has no header row");
+        }
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            positions.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        int[] columns = new int[COLUMNS.size()];
+        for (int i = 0; i < columns.length; i++) {
+            Integer position = positions.get(COLUMNS.get(i).toLowerCase(Locale.ROOT));
+            if (position == null) {
+                throw new IllegalArgumentException("The CSV header has no '" + COLUMNS.get(i) + "' column");
+            }
+            columns[i] = position;
+        }
+
+        List<String> fields;
+        while ((fields = records.next()) != null) {
+            long lineNumber = records.recordLine();
+            if (records.unterminatedQuote()) {
+                rows.accept(UserImportRow.malformed(lineNumber, "Unterminated quoted field"));
+            } else if (fields.size() == 1 && fields.getFirst().isBlank()) {
+                // Blank line
+            } else if (fields.size() != header.size()) {
+                rows.accept(UserImportRow.malformed(lineNumber,
+                        "Expected " + header.size() + " fields but found " + fields.size()));
+            } else {
+                rows.accept(new UserImportRow(lineNumber, fields.get(columns[0]), fields.get(columns[1]),
+                        fields.get(columns[2]), fields.get(columns[3]), null));
+            }
+        }
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static void skipBom(BufferedReader reader) throws IOException {
+        reader.mark(1);
+        if (reader.read() != BOM) {
+            reader.reset();
+        }
+    }
+
+    /**
+     * Splits RFC 4180 records, which may span lines inside quoted fields, and tracks the line each one starts on.
+     */
+    private static final class CsvRecordReader {
+        private final Reader reader;
+        private final StringBuilder field = new StringBuilder();
+        private long line = 1;
+        private long recordLine;
+        private boolean unterminatedQuote;
+        private boolean eof;
+
+        CsvRecordReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        long recordLine() {
+            return recordLine;
+        }
+
+        boolean unterminatedQuote() {
+            return unterminatedQuote;
+        }
+
+        /**
+         * @return the next record's fields, or {@code null} at the end of the file
+         */
+        List<String> next() throws IOException {
+            if (eof) {
+                return null;
+            }
+            recordLine = line;
+            unterminatedQuote = false;
+            List<String> fields = new ArrayList<>(COLUMNS.size());
+            field.setLength(0);
+            boolean quoted = false;
+            boolean empty = true;
+            int c;
+            while (true) {
+                c = reader.read();
+                if (c == -1) {
+                    eof = true;
+                    if (empty && fields.isEmpty()) {
+                        return null;
+                    }
+                    unterminatedQuote = quoted;
+                    fields.add(field.toString());
+                    return fields;
+                }
+                empty = false;
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            field.append('"');
+                        } else {
+                            reader.reset();
+                            quoted = false;
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\r' || c == '\n') {
+                    if (c == '\r') {
+                        reader.mark(1);
+                        if (reader.read() != '\n') {
+                            reader.reset();
+                        }
+                    }
+                    line++;
+                    fields.add(field.toString());
+                    return fields;
+                } else {
+                    field.append((char) c);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.fernirx.lms.user.service;
+
+import com.fernirx.lms.common.constants.ApiMessages;
+import com.fernirx.lms.common.enums.ErrorCode;
+import com.fernirx.lms.common.exceptions.LmsException;
+import com.fernirx.lms.common.exceptions.ResourceNotFoundException;
+import com.fernirx.lms.common.exceptions.TooManyRequestsException;
+import com.fernirx.lms.infrastructure.security.CustomUserDetails;
+import com.fernirx.lms.infrastructure.security.SecurityUtils;
+import com.fernirx.lms.user.config.UserImportConfig;
+import com.fernirx.lms.user.dto.request.UserFileFormat;
+import com.fernirx.lms.user.dto.response.UserImportJobResponse;
+import com.fernirx.lms.user.entity.UserImportJob;
+import com.fernirx.lms.user.repository.UserImportErrorRepository;
+import com.fernirx.lms.user.repository.UserImportJobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Accepts import files and reports their progress; {@link UserImportWorker} does the importing.
+ * The upload is spooled to a temporary file first, so the request returns as soon as it is received
+ * and the import reads from disk at its own pace.
+ */
+@Slf4j
+@Service
+public class UserImportService {
+    private final UserImportJobRepository userImportJobRepository;
+    private final UserImportErrorRepository userImportErrorRepository;
+    private final UserImportWorker userImportWorker;
+    private final ExecutorService importExecutor;
+
+    public UserImportService(UserImportJobRepository userImportJobRepository,
+                             UserImportErrorRepository userImportErrorRepository,
+                             UserImportWorker userImportWorker,
+                             @Qualifier(UserImportConfig.IMPORT_EXECUTOR) ExecutorService importExecutor) {
+        this.userImportJobRepository = userImportJobRepository;
+        this.userImportErrorRepository = userImportErrorRepository;
+        this.userImportWorker = userImportWorker;
+        this.importExecutor = importExecutor;
+    }
+
+    // ==== PUBLIC API ====
+
+    /**
+     * @throws TooManyRequestsException if every import slot and its queue are taken
+     */
+    public UserImportJobResponse startImport(MultipartFile file, UserFileFormat format) {
+        if (file.isEmpty()) {
+            throw new LmsException(ErrorCode.BAD_REQUEST, ApiMessages.IMPORT_FILE_EMPTY);
+        }
+        Path spooled = spool(file);
+
+        UserImportJob job = new UserImportJob();
+        job.setFileName(file.getOriginalFilename());
+        job.setFormat(format);
+        CustomUserDetails currentUser = SecurityUtils.getCurrentUser();
+        job.setCreatedBy(currentUser != null ? currentUser.getId() : null);
+        userImportJobRepository.save(job);
+
+        long jobId = job.getId();
+        try {
+            importExecutor.execute(() -> userImportWorker.run(jobId, spooled, format));
+        } catch (RejectedExecutionException e) {
+            userImportJobRepository.deleteById(jobId);
+            deleteQuietly(spooled);
+            throw new TooManyRequestsException(ApiMessages.USER_IMPORT_CAPACITY_EXCEEDED);
+        }
+        log.info("User import {} queued for {} ({} bytes, {})", jobId, file.getOriginalFilename(), file.getSize(),
+                format);
+        return toResponse(job);
+    }
+
+    @Transactional(readOnly = true)
+    public UserImportJobResponse getJob(Long id) {
+        UserImportJob job = userImportJobRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        ErrorCode.USER_IMPORT_JOB_NOT_FOUND, "User import", "id", id));
+        return toResponse(job);
+    }
+
+    // ==== PRIVATE HELPERS ====
+
+    private static Path spool(MultipartFile file) {
+        Path spooled = null;
+        try {
+            spooled = Files.createTempFile("user-import-", ".tmp");
+            file.transferTo(spooled);
+            return spooled;
+        } catch (IOException e) {
+            if (spooled != null) {
+                deleteQuietly(spooled);
+            }
+            throw new UncheckedIOException("Could not store the import file", e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete import file {}", file, e);
+        }
+    }
+
+    private UserImportJobResponse toResponse(UserImportJob job) {
+        return UserImportJobResponse.builder()
+                .id(job.getId())
+                .fileName(job.getFileName())
+                .format(job.getFormat())
+                .status(job.getStatus())
+                .processedRows(job.getProcessedRows())
+                .importedRows(job.getImportedRows())
+                .failedRows(job.getFailedRows())
+                .lastError(job.getLastError())
+                .errors(job.getFailedRows() == 0 ? List.of()
+                        : userImportErrorRepository.findResponsesByJobId(job.getId()))
+                .createdAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt())
+                .completedAt(job.getCompletedAt())
+                .build();
+    }
+}
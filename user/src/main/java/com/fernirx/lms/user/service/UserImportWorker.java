@@ -0,0 +1,379 @@
+package com.fernirx.lms.user.service;
+
+import com.fernirx.lms.infrastructure.message.MailService;
+import com.fernirx.lms.infrastructure.message.WelcomeMail;
+import com.fernirx.lms.infrastructure.properties.UserImportProperties;
+import com.fernirx.lms.user.config.UserImportConfig;
+import com.fernirx.lms.user.dto.UserImportRow;
+import com.fernirx.lms.user.dto.request.UserCreateRequest;
+import com.fernirx.lms.user.dto.request.UserFileFormat;
+import com.fernirx.lms.user.dto.response.UserImportErrorResponse;
+import com.fernirx.lms.user.entity.User;
+import com.fernirx.lms.user.entity.UserImportError;
+import com.fernirx.lms.user.entity.UserImportJobStatus;
+import com.fernirx.lms.user.repository.UserImportErrorRepository;
+import com.fernirx.lms.user.repository.UserImportJobRepository;
+import com.fernirx.lms.user.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+/**
+ * Runs one import, a chunk of rows at a time: rows are validated in memory, checked against existing usernames
+ * and emails with one {@code IN} query each, hashed in parallel on the hash executor, then persisted together
+ * with the chunk's row errors and progress in a single transaction. Users and errors take pooled ids, so
+ * Hibernate sends them as JDBC batches of {@code hibernate.jdbc.batch_size}. Welcome emails for a chunk
+ * are queued only once that transaction has committed, so no one is mailed an account that was rolled back,
+ * and the chunk's emails are then evicted from the {@link UserService} lookup cache.
+ * <p>
+ * A chunk whose insert hits a unique key anyway (a user created through the API meanwhile) is checked against
+ * the database again and retried once. Any other failure stops the import and marks it {@code FAILED}; chunks
+ * committed before it stay imported. An import interrupted by a restart stays {@code RUNNING}, as its spooled
+ * file does not survive.
+ * <p>
+ * Metrics: {@code user.import.rows{outcome=imported|failed}}.
+ */
+@Slf4j
+@Component
+public class UserImportWorker {
+    private static final int MIN_HASH_SLICE = 16;
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final UserImportReader userImportReader;
+    private final UserRepository userRepository;
+    private final UserService userService;
+    private final RoleRegistry roleRegistry;
+    private final UserImportJobRepository userImportJobRepository;
+    private final UserImportErrorRepository userImportErrorRepository;
+    private final MailService mailService;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final UserImportProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService hashExecutor;
+    private final int hashParallelism;
+    private final Counter importedCounter;
+    private final Counter failedCounter;
+
+    public UserImportWorker(UserImportReader userImportReader,
+                            UserRepository userRepository,
+                            UserService userService,
+                            RoleRegistry roleRegistry,
+                            UserImportJobRepository userImportJobRepository,
+                            UserImportErrorRepository userImportErrorRepository,
+                            MailService mailService,
+                            PasswordEncoder passwordEncoder,
+                            Validator validator,
+                            UserImportProperties properties,
+                            PlatformTransactionManager transactionManager,
+                            @Qualifier(UserImportConfig.HASH_EXECUTOR) ExecutorService hashExecutor,
+                            MeterRegistry meterRegistry) {
+        this.userImportReader = userImportReader;
+        this.userRepository = userRepository;
+        this.userService = userService;
+        this.roleRegistry = roleRegistry;
+        this.userImportJobRepository = userImportJobRepository;
+        this.userImportErrorRepository = userImportErrorRepository;
+        this.mailService = mailService;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.hashExecutor = hashExecutor;
+        this.hashParallelism = properties.resolvedHashParallelism();
+        this.importedCounter = Counter.builder("user.import.rows")
+                .tag("outcome", "imported")
+                .description("Users created by bulk imports")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("user.import.rows")
+                .tag("outcome", "failed")
+                .description("Import rows rejected by bulk imports")
+                .register(meterRegistry);
+    }
+
+    // ==== PUBLIC API ====
+
+    /**
+     * Imports the spooled file of the given job and deletes it afterwards.
+     */
+    public void run(long jobId, Path file, UserFileFormat format) {
+        long start = System.nanoTime();
+        ImportContext context = new ImportContext(jobId);
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            updateJob(jobId, UserImportJobStatus.RUNNING, null);
+            List<UserImportRow> chunk = new ArrayList<>(properties.getChunkSize());
+            userImportReader.read(inputStream, format, row -> {
+                chunk.add(row);
+                if (chunk.size() == properties.getChunkSize()) {
+                    processChunk(context, chunk);
+                    chunk.clear();
+                }
+            });
+            if (!chunk.isEmpty()) {
+                processChunk(context, chunk);
+            }
+            updateJob(jobId, UserImportJobStatus.COMPLETED, null);
+            log.info("User import {} finished: {} imported, {} failed in {} ms", jobId, context.imported,
+                    context.failed, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            log.error("User import {} failed after {} imported rows", jobId, context.imported, e);
+            updateJob(jobId, UserImportJobStatus.FAILED, truncate(String.valueOf(e.getMessage())));
+        } finally {
+            deleteQuietly(file);
+        }
+    }
+
+    // ==== PRIVATE HELPERS ====
+
+    private void processChunk(ImportContext context, List<UserImportRow> rows) {
+        List<UserImportErrorResponse> errors = new ArrayList<>();
+        List<Candidate> candidates = validate(rows, errors);
+        removeExisting(candidates, errors);
+        hash(candidates);
+
+        try {
+            commitChunk(context, candidates, errors);
+        } catch (DataIntegrityViolationException e) {
+            log.debug("User import {} raced with another insert, checking the chunk again", context.jobId);
+            removeExisting(candidates, errors);
+            commitChunk(context, candidates, errors);
+        }
+
+        // Emails looked up before the import may be cached as unknown
+        userService.evictIdentities(candidates.stream().map(candidate -> candidate.email).toList());
+        importedCounter.increment(candidates.size());
+        failedCounter.increment(errors.size());
+        if (!candidates.isEmpty()) {
+            try {
+                mailService.sendWelcomeEmails(candidates.stream()
+                        .map(candidate -> new WelcomeMail(candidate.email, candidate.username, candidate.password))
+                        .toList());
+            } catch (RuntimeException e) {
+                // The users exist either way; an admin can reset their passwords
+                log.error("User import {} could not queue {} welcome emails", context.jobId, candidates.size(), e);
+            }
+        }
+    }
+
+    private void commitChunk(ImportContext context, List<Candidate> candidates, List<UserImportErrorResponse> errors) {
+        errors.sort(Comparator.comparingLong(UserImportErrorResponse::lineNumber));
+        int reported = Math.min(errors.size(), Math.max(0, properties.getMaxReportedErrors() - context.reportedErrors));
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!candidates.isEmpty()) {
+                userRepository.saveAll(candidates.stream().map(this::toUser).toList());
+            }
+            if (reported > 0) {
+                userImportErrorRepository.saveAll(errors.subList(0, reported).stream()
+                        .map(error -> toError(context.jobId, error))
+                        .toList());
+            }
+            userImportJobRepository.addProgress(context.jobId, candidates.size(), errors.size());
+        });
+        context.reportedErrors += reported;
+        context.imported += candidates.size();
+        context.failed += errors.size();
+    }
+
+    /**
+     * Checks each row on its own and against earlier rows of the same chunk; earlier chunks are already in the
+     * database by the time a chunk is checked against it.
+     */
+    private List<Candidate> validate(List<UserImportRow> rows, List<UserImportErrorResponse> errors) {
+        List<Candidate> candidates = new ArrayList<>(rows.size());
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (UserImportRow row : rows) {
+            String username = trim(row.username());
+            if (row.error() != null) {
+                errors.add(new UserImportErrorResponse(row.lineNumber(), username, row.error()));
+                continue;
+            }
+            Long roleId;
+            try {
+                roleId = row.roleId() == null || row.roleId().isBlank() ? null : Long.valueOf(row.roleId().trim());
+            } catch (NumberFormatException e) {
+                errors.add(new UserImportErrorResponse(row.lineNumber(), username, "roleId: must be a number"));
+                continue;
+            }
+            UserCreateRequest request = new UserCreateRequest(username, row.password(), trim(row.email()), roleId);
+            String message = violations(request);
+            if (message == null && !roleRegistry.contains(roleId)) {
+                message = "roleId: role " + roleId + " does not exist";
+            }
+            if (message == null && !usernames.add(key(request.getUsername()))) {
+                message = "username: appears more than once in the file";
+            }
+            if (message == null && !emails.add(key(request.getEmail()))) {
+                message = "email: appears more than once in the file";
+            }
+            if (message != null) {
+                errors.add(new UserImportErrorResponse(row.lineNumber(), username, message));
+                continue;
+            }
+            candidates.add(new Candidate(row.lineNumber(), roleId, request.getUsername(), request.getEmail(),
+                    request.getPassword()));
+        }
+        return candidates;
+    }
+
+    private String violations(UserCreateRequest request) {
+        Set<ConstraintViolation<UserCreateRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Moves candidates whose username or email is already taken to {@code errors}, with one query per column.
+     * Keys are compared lower-cased, as the columns use a case-insensitive collation.
+     */
+    private void removeExisting(List<Candidate> candidates, List<UserImportErrorResponse> errors) {
+        if (candidates.isEmpty()) {
+            return;
+        }
+        Set<String> takenUsernames = keys(userRepository.findExistingUsernames(
+                candidates.stream().map(candidate -> candidate.username).toList()));
+        Set<String> takenEmails = keys(userRepository.findExistingEmails(
+                candidates.stream().map(candidate -> candidate.email).toList()));
+        if (takenUsernames.isEmpty() && takenEmails.isEmpty()) {
+            return;
+        }
+        candidates.removeIf(candidate -> {
+            String message = takenUsernames.contains(key(candidate.username)) ? "username: already exists"
+                    : takenEmails.contains(key(candidate.email)) ? "email: already exists"
+                    : null;
+            if (message == null) {
+                return false;
+            }
+            errors.add(new UserImportErrorResponse(candidate.lineNumber, candidate.username, message));
+            return true;
+        });
+    }
+
+    /**
+     * Hashes passwords in contiguous slices, one per hash thread; this is where an import spends most of its time.
+     */
+    private void hash(List<Candidate> candidates) {
+        int slices = Math.min(hashParallelism, (candidates.size() + MIN_HASH_SLICE - 1) / MIN_HASH_SLICE);
+        if (slices <= 1) {
+            hashSlice(candidates);
+            return;
+        }
+        int sliceSize = (candidates.size() + slices - 1) / slices;
+        List<CompletableFuture<Void>> futures = new ArrayList<>(slices);
+        for (int from = 0; from < candidates.size(); from += sliceSize) {
+            List<Candidate> slice = candidates.subList(from, Math.min(from + sliceSize, candidates.size()));
+            futures.add(CompletableFuture.runAsync(() -> hashSlice(slice), hashExecutor));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+    }
+
+    private void hashSlice(List<Candidate> slice) {
+        for (Candidate candidate : slice) {
+            candidate.passwordHash = passwordEncoder.encode(candidate.password);
+        }
+    }
+
+    private User toUser(Candidate candidate) {
+        User user = new User();
+        user.setRole(roleRegistry.getReference(candidate.roleId));
+        user.setUsername(candidate.username);
+        user.setEmail(candidate.email);
+        user.setPassword(candidate.passwordHash);
+        user.setIsDeleted(false);
+        return user;
+    }
+
+    private static UserImportError toError(long jobId, UserImportErrorResponse response) {
+        UserImportError error = new UserImportError();
+        error.setJobId(jobId);
+        error.setLineNumber(response.lineNumber());
+        error.setUsername(response.username());
+        error.setMessage(response.message());
+        return error;
+    }
+
+    private void updateJob(long jobId, UserImportJobStatus status, String lastError) {
+        transactionTemplate.executeWithoutResult(tx -> userImportJobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(status);
+            job.setLastError(lastError);
+            if (status == UserImportJobStatus.COMPLETED || status == UserImportJobStatus.FAILED) {
+                job.setCompletedAt(LocalDateTime.now());
+            }
+        }));
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete import file {}", file, e);
+        }
+    }
+
+    private static Set<String> keys(Collection<String> values) {
+        return values.stream().map(UserImportWorker::key).collect(Collectors.toSet());
+    }
+
+    private static String key(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private static String trim(String value) {
+        return value == null ? null : value.trim();
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private static final class ImportContext {
+        private final long jobId;
+        private int reportedErrors;
+        private long imported;
+        private long failed;
+
+        ImportContext(long jobId) {
+            this.jobId = jobId;
+        }
+    }
+
+    private static final class Candidate {
+        private final long lineNumber;
+        private final long roleId;
+        private final String username;
+        private final String email;
+        private final String password;
+        private String passwordHash;
+
+        Candidate(long lineNumber, long roleId, String username, String email, String password) {
+            this.lineNumber = lineNumber;
+            this.roleId = roleId;
+            this.username = username;
+            this.email = email;
+            this.password = password;
+        }
+    }
+}
@@ -1,42 +1,95 @@
 package com.fernirx.lms.user.service;
 
+import com.fernirx.lms.common.dtos.responses.CursorPage;
 import com.fernirx.lms.common.enums.ErrorCode;
 import com.fernirx.lms.common.exceptions.DuplicateEntryException;
 import com.fernirx.lms.common.exceptions.ResourceNotFoundException;
+import com.fernirx.lms.common.utils.KeysetCursor;
+import com.fernirx.lms.infrastructure.message.MailService;
+import com.fernirx.lms.infrastructure.properties.PaginationProperties;
+import com.fernirx.lms.infrastructure.properties.UserLookupCacheProperties;
 import com.fernirx.lms.user.dto.request.UserCreateRequest;
 import com.fernirx.lms.user.dto.request.UserUpdateRequest;
+import com.fernirx.lms.user.dto.response.UserIdentity;
 import com.fernirx.lms.user.dto.response.UserResponse;
 import com.fernirx.lms.user.entity.Role;
 import com.fernirx.lms.user.entity.User;
 import com.fernirx.lms.user.mapper.UserMapper;
 import com.fernirx.lms.user.repository.UserRepository;
-import lombok.AllArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.NonNull;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
-@AllArgsConstructor
 public class UserService {
     private final UserRepository userRepository;
     private final RoleService roleService;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final TokenDenylistService tokenDenylistService;
+    private final MailService mailService;
+    private final PaginationProperties paginationProperties;
+    // Lookups by email for the unauthenticated reset flow, including misses, so unknown emails do not reach MySQL
+    private final Cache<@NonNull String, Optional<UserIdentity>> identitiesByEmail;
 
+    public UserService(UserRepository userRepository,
+                       RoleService roleService,
+                       UserMapper userMapper,
+                       PasswordEncoder passwordEncoder,
+                       TokenDenylistService tokenDenylistService,
+                       MailService mailService,
+                       PaginationProperties paginationProperties,
+                       UserLookupCacheProperties userLookupCacheProperties) {
+        this.userRepository = userRepository;
+        this.roleService = roleService;
+        this.userMapper = userMapper;
+        this.passwordEncoder = passwordEncoder;
+        this.tokenDenylistService = tokenDenylistService;
+        this.mailService = mailService;
+        this.paginationProperties = paginationProperties;
+        this.identitiesByEmail = Caffeine.newBuilder()
+                .maximumSize(userLookupCacheProperties.getMaximumSize())
+                .expireAfterWrite(userLookupCacheProperties.getExpireAfterWrite())
+                .build();
+    }
+
+    /**
+     * Returns one page of users in id order. One extra row is fetched to tell whether another page follows.
+     */
     @Transactional(readOnly = true)
-    public List<UserResponse> getUsersByStatus(boolean deleted) {
-        List<User> users = userRepository.findByIsDeleted(deleted);
-        return userMapper.toListDto(users);
+    public CursorPage<UserResponse> getUsersByStatus(boolean deleted, String cursor, Integer size) {
+        int pageSize = paginationProperties.resolvePageSize(size);
+        List<UserResponse> users = userRepository.findPageByIsDeleted(deleted, KeysetCursor.decode(cursor),
+                Limit.of(pageSize + 1));
+        if (users.size() <= pageSize) {
+            return CursorPage.of(users, null);
+        }
+        List<UserResponse> page = users.subList(0, pageSize);
+        return CursorPage.of(page, KeysetCursor.encode(page.getLast().getId()));
     }
 
     @Transactional(readOnly = true)
     public UserResponse getUserById(Long id) {
-        User user = findUserById(id);
-        return userMapper.toDto(user);
+        return userRepository.findActiveResponseById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        ErrorCode.USER_NOT_FOUND,
+                        "User",
+                        "id",
+                        id
+                ));
     }
 
     @Transactional(readOnly = true)
@@ -44,9 +97,28 @@ public class UserService {
         return findUserByEmail(email);
     }
 
+    /**
+     * Looks up the user for a password reset. Results, including "not found", are cached briefly per email.
+     */
+    public Optional<UserIdentity> getIdentityByEmailForReset(String email) {
+        return identitiesByEmail.get(normalizeEmail(email), userRepository::findIdentityByEmail);
+    }
+
+    /**
+     * Looks up the user by email in the database, bypassing the per-node cache, for callers that act on the
+     * result, such as minting a reset-password token for the username it names.
+     */
     @Transactional(readOnly = true)
-    public Optional<User> getUserByEmailForReset(String email) {
-        return userRepository.findByEmail(email);
+    public Optional<UserIdentity> getCurrentIdentityByEmail(String email) {
+        return userRepository.findIdentityByEmail(normalizeEmail(email));
+    }
+
+    /**
+     * Drops the cached lookups of emails written outside this service, such as by a bulk import. Inside a
+     * transaction the eviction waits for the commit.
+     */
+    public void evictIdentities(Collection<String> emails) {
+        emails.forEach(this::evictIdentity);
     }
 
     @Transactional
@@ -56,12 +128,15 @@ public class UserService {
 
         // Build user entity from request
         User user = userMapper.toEntity(userRequest);
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        String initialPassword = user.getPassword();
+        user.setPassword(passwordEncoder.encode(initialPassword));
         user.setRole(roleService.getRoleById(userRequest.getRoleId()));
         user.setIsDeleted(false);
 
         // Persist to database
         userRepository.save(user);
+        evictIdentity(user.getEmail());
+        mailService.sendWelcomeEmail(user.getEmail(), user.getUsername(), initialPassword);
 
         return userMapper.toDto(user);
     }
@@ -75,6 +150,8 @@ public class UserService {
         validateUsernameForUpdate(user, userRequest.getUsername());
 
         // Update basic fields
+        evictIdentity(user.getEmail());
+        evictIdentity(userRequest.getEmail());
         user.setUsername(userRequest.getUsername());
         user.setEmail(userRequest.getEmail());
 
@@ -93,6 +170,7 @@ public class UserService {
     public Boolean softDeleteUser(Long id) {
         checkUserId(id);
         userRepository.softDeleteById(id);
+        tokenDenylistService.denyUser(id);
         return true;
     }
 
@@ -100,6 +178,7 @@ public class UserService {
     public void restoreUser(Long id) {
         checkUserId(id);
         userRepository.restoreById(id);
+        tokenDenylistService.allowUser(id);
     }
 
     @Transactional
@@ -109,6 +188,15 @@ public class UserService {
         userRepository.save(user);
     }
 
+    /**
+     * Writes back a hash upgraded during login, off the login path.
+     */
+    @Async
+    @Transactional
+    public void rehashPassword(Long id, String currentHash, String newHash) {
+        userRepository.updatePasswordHash(id, currentHash, newHash);
+    }
+
     // ==================== PRIVATE HELPER METHODS ====================
 
     private User findUserById(Long id) {
@@ -141,6 +229,30 @@ public class UserService {
                 ));
     }
 
+    /**
+     * Evicts after commit, so a lookup racing the write cannot re-cache the state the transaction replaces.
+     */
+    private void evictIdentity(String email) {
+        if (email == null) {
+            return;
+        }
+        String key = normalizeEmail(email);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            identitiesByEmail.invalidate(key);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                identitiesByEmail.invalidate(key);
+            }
+        });
+    }
+
+    private static String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
     private void checkUserId(Long id) {
         if (!userRepository.existsById(id)) {
             throw new ResourceNotFoundException(
@@ -0,0 +1,28 @@
+package com.fernirx.lms.user;
+
+import com.fernirx.lms.infrastructure.persistence.SqlStatementCounter;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Boot configuration for JPA slice tests of the user module, which has no application class of its own.
+ * Every statement Hibernate prepares passes through {@link SqlStatementCounter}, so tests can assert how many
+ * queries a request takes.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+public class UserJpaTestApplication {
+
+    @Bean
+    SqlStatementCounter sqlStatementCounter() {
+        return new SqlStatementCounter();
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer sqlStatementCounterCustomizer(SqlStatementCounter counter) {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, counter);
+    }
+}
@@ -0,0 +1,97 @@
+package com.fernirx.lms.user.controller;
+
+import com.fernirx.lms.common.constants.ApiConstants;
+import com.fernirx.lms.infrastructure.persistence.SqlStatementCounter;
+import com.fernirx.lms.infrastructure.properties.PaginationProperties;
+import com.fernirx.lms.infrastructure.properties.UserLookupCacheProperties;
+import com.fernirx.lms.user.entity.Role;
+import com.fernirx.lms.user.entity.User;
+import com.fernirx.lms.user.repository.UserRepository;
+import com.fernirx.lms.user.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Counts the SQL statements behind user read requests against an in-memory database, so an association loaded
+ * per row (N+1) fails the build. Requests run on the test thread, which is the thread the counter watches.
+ */
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:users;MODE=MySQL;DATABASE_TO_LOWER=TRUE")
+class UserControllerQueryCountTest {
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private SqlStatementCounter counter;
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 40})
+    void listsAPageOfUsersInOneStatementWhateverItsSize(int users) throws Exception {
+        seed(users);
+        MockMvc mockMvc = mockMvc();
+
+        counter.open();
+        ResultActions result = mockMvc.perform(get(ApiConstants.USERS_PATH).param("size", "100"));
+        int statements = counter.close();
+
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items", hasSize(users)))
+                .andExpect(jsonPath("$.data.items[0].roleName").value("ROLE_STUDENT"));
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    void readsOneUserWithItsRoleInOneStatement() throws Exception {
+        Long id = seed(5);
+        MockMvc mockMvc = mockMvc();
+
+        counter.open();
+        ResultActions result = mockMvc.perform(get(ApiConstants.USERS_PATH + "/" + id));
+        int statements = counter.close();
+
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.roleName").value("ROLE_STUDENT"));
+        assertThat(statements).isEqualTo(1);
+    }
+
+    /**
+     * @return the id of the last user seeded
+     */
+    private Long seed(int count) {
+        Role role = new Role();
+        role.setName("ROLE_STUDENT");
+        entityManager.persist(role);
+        User user = null;
+        for (int i = 0; i < count; i++) {
+            user = new User();
+            user.setRole(role);
+            user.setUsername("student" + i);
+            user.setEmail("student" + i + "@example.com");
+            user.setPassword("hash");
+            entityManager.persist(user);
+        }
+        // Start from an empty persistence context, as a request does
+        entityManager.flush();
+        entityManager.clear();
+        return user.getId();
+    }
+
+    private MockMvc mockMvc() {
+        UserService userService = new UserService(userRepository, null, null, null, null, null,
+                new PaginationProperties(), new UserLookupCacheProperties());
+        return MockMvcBuilders.standaloneSetup(new UserController(userService, null, null)).build();
+    }
+}
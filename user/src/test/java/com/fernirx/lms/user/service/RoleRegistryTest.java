@@ -0,0 +1,66 @@
+package com.fernirx.lms.user.service;
+
+import com.fernirx.lms.common.exceptions.ResourceNotFoundException;
+import com.fernirx.lms.infrastructure.security.RoleAuthorityRegistry;
+import com.fernirx.lms.user.entity.Role;
+import com.fernirx.lms.user.repository.RoleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class RoleRegistryTest {
+    private final RoleRepository roleRepository = mock(RoleRepository.class);
+    private final RoleAuthorityRegistry roleAuthorityRegistry = new RoleAuthorityRegistry();
+    private final RoleRegistry roleRegistry = new RoleRegistry(roleRepository, roleAuthorityRegistry);
+
+    @BeforeEach
+    void setUp() {
+        when(roleRepository.findAll()).thenReturn(List.of(role(1L, "ROLE_ADMIN"), role(3L, "ROLE_TEACHER")));
+        roleRegistry.refresh();
+    }
+
+    @Test
+    void resolvesRolesByIdAndNameWithoutQuerying() {
+        assertThat(roleRegistry.nameOf(1L)).isEqualTo("ROLE_ADMIN");
+        assertThat(roleRegistry.nameOf(3L)).isEqualTo("ROLE_TEACHER");
+        assertThat(roleRegistry.nameOf(2L)).isNull();
+        assertThat(roleRegistry.nameOf(99L)).isNull();
+        assertThat(roleRegistry.idOf("ROLE_TEACHER")).isEqualTo(3L);
+        assertThat(roleRegistry.roleName(role(1L, null))).isEqualTo("ROLE_ADMIN");
+        assertThat(roleAuthorityRegistry.maskOfRoles("ADMIN", "TEACHER")).isEqualTo(0b101L);
+        verify(roleRepository, times(1)).findAll();
+    }
+
+    @Test
+    void refreshSwapsInTheCurrentRoles() {
+        when(roleRepository.findAll()).thenReturn(List.of(role(1L, "ROLE_ADMIN"), role(2L, "ROLE_STUDENT")));
+
+        roleRegistry.refresh();
+
+        assertThat(roleRegistry.contains(2L)).isTrue();
+        assertThat(roleRegistry.contains(3L)).isFalse();
+        assertThat(roleRegistry.idOf("ROLE_TEACHER")).isNull();
+    }
+
+    @Test
+    void returnsReferencesOnlyForKnownRoles() {
+        Role reference = role(3L, null);
+        when(roleRepository.getReferenceById(3L)).thenReturn(reference);
+
+        assertThat(roleRegistry.getReference(3L)).isSameAs(reference);
+        assertThatThrownBy(() -> roleRegistry.getReference(2L)).isInstanceOf(ResourceNotFoundException.class);
+        verify(roleRepository, never()).getReferenceById(2L);
+    }
+
+    private static Role role(Long id, String name) {
+        Role role = new Role();
+        role.setId(id);
+        role.setName(name);
+        return role;
+    }
+}
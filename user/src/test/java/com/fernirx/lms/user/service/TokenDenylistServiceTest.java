@@ -0,0 +1,143 @@
+package com.fernirx.lms.user.service;
+
+import com.fernirx.lms.infrastructure.properties.JwtProperties;
+import com.fernirx.lms.infrastructure.properties.TokenDenylistProperties;
+import com.fernirx.lms.infrastructure.security.VerifiedToken;
+import com.fernirx.lms.user.entity.DeniedToken;
+import com.fernirx.lms.user.repository.DeniedTokenRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TokenDenylistServiceTest {
+    private static final long USER_ID = 7L;
+
+    private final DeniedTokenRepository deniedTokenRepository = mock(DeniedTokenRepository.class);
+    private TokenDenylistService tokenDenylistService;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setExpiration(Duration.ofMinutes(15));
+        jwtProperties.setRefreshExpiration(Duration.ofDays(7));
+        tokenDenylistService = new TokenDenylistService(deniedTokenRepository, jwtProperties,
+                new TokenDenylistProperties());
+        when(deniedTokenRepository.findByExpiresAtAfter(any())).thenReturn(List.of());
+        tokenDenylistService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void revocationCommittedDuringRebuildSurvivesTheSwap() throws Exception {
+        CountDownLatch tableRead = new CountDownLatch(1);
+        CountDownLatch revocationCommitted = new CountDownLatch(1);
+        when(deniedTokenRepository.findByExpiresAtAfter(any())).thenAnswer(invocation -> {
+            tableRead.countDown();
+            revocationCommitted.await(5, TimeUnit.SECONDS);
+            // Read before the revocation committed, so the row is not there
+            return List.of();
+        });
+
+        beginTransaction();
+        tokenDenylistService.denyUser(USER_ID);
+        CompletableFuture<Void> rebuild = CompletableFuture.runAsync(tokenDenylistService::rebuild);
+        assertThat(tableRead.await(5, TimeUnit.SECONDS)).isTrue();
+        completeTransaction(true);
+        revocationCommitted.countDown();
+        rebuild.get(5, TimeUnit.SECONDS);
+
+        assertThat(tokenDenylistService.isDenied(token(USER_ID))).isTrue();
+    }
+
+    @Test
+    void rolledBackChangesAreNotAppliedLocally() {
+        inTransaction(() -> tokenDenylistService.denyUser(USER_ID), false);
+        assertThat(tokenDenylistService.isDenied(token(USER_ID))).isFalse();
+
+        inTransaction(() -> tokenDenylistService.denyUser(USER_ID), true);
+        inTransaction(() -> tokenDenylistService.allowUser(USER_ID), false);
+        assertThat(tokenDenylistService.isDenied(token(USER_ID))).isTrue();
+
+        inTransaction(() -> tokenDenylistService.allowUser(USER_ID), true);
+        assertThat(tokenDenylistService.isDenied(token(USER_ID))).isFalse();
+    }
+
+    @Test
+    void restoreCommittedDuringRebuildSurvivesTheSwap() throws Exception {
+        inTransaction(() -> tokenDenylistService.denyUser(USER_ID), true);
+        DeniedToken row = new DeniedToken("u:" + USER_ID, LocalDateTime.now().plusDays(1));
+        CountDownLatch tableRead = new CountDownLatch(1);
+        CountDownLatch restoreCommitted = new CountDownLatch(1);
+        when(deniedTokenRepository.findByExpiresAtAfter(any())).thenAnswer(invocation -> {
+            tableRead.countDown();
+            restoreCommitted.await(5, TimeUnit.SECONDS);
+            // Read before the restore committed, so the row is still there
+            return List.of(row);
+        });
+
+        beginTransaction();
+        tokenDenylistService.allowUser(USER_ID);
+        CompletableFuture<Void> rebuild = CompletableFuture.runAsync(tokenDenylistService::rebuild);
+        assertThat(tableRead.await(5, TimeUnit.SECONDS)).isTrue();
+        completeTransaction(true);
+        restoreCommitted.countDown();
+        rebuild.get(5, TimeUnit.SECONDS);
+
+        assertThat(tokenDenylistService.isDenied(token(USER_ID))).isFalse();
+    }
+
+    private static void inTransaction(Runnable action, boolean commit) {
+        beginTransaction();
+        action.run();
+        completeTransaction(commit);
+    }
+
+    /**
+     * Stands in for a caller's transaction on this thread: synchronizations registered until
+     * {@link #completeTransaction} run as they would on commit or rollback.
+     */
+    private static void beginTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    private static void completeTransaction(boolean commit) {
+        try {
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            if (commit) {
+                TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+            }
+            TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, commit
+                    ? TransactionSynchronization.STATUS_COMMITTED
+                    : TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static VerifiedToken token(long userId) {
+        return new VerifiedToken("access", String.valueOf(userId), "user" + userId, List.of(),
+                Instant.now().plusSeconds(600), "jti-" + userId, null);
+    }
+}
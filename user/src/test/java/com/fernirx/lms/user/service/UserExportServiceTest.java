@@ -0,0 +1,69 @@
+package com.fernirx.lms.user.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fernirx.lms.user.dto.request.UserFileFormat;
+import com.fernirx.lms.user.dto.response.UserResponse;
+import com.fernirx.lms.user.repository.UserExportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class UserExportServiceTest {
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 9, 1, 8, 0);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private UserExportService userExportService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        List<UserResponse> users = List.of(
+                new UserResponse(1L, "ADMIN", "admin", "admin@example.com", false, CREATED_AT, CREATED_AT),
+                new UserResponse(2L, "STUDENT", "=HYPERLINK(\"x\")", "a,b@example.com", false, CREATED_AT, CREATED_AT));
+        UserExportRepository repository = mock(UserExportRepository.class);
+        doAnswer(invocation -> {
+            users.forEach(invocation.<Consumer<UserResponse>>getArgument(1));
+            return null;
+        }).when(repository).forEachByIsDeleted(eq(false), any(Consumer.class));
+        userExportService = new UserExportService(repository, objectMapper);
+    }
+
+    @Test
+    void writesOneJsonObjectPerLine() throws Exception {
+        String[] lines = export(UserFileFormat.NDJSON).split("\n");
+
+        assertThat(lines).hasSize(2);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("id").asLong()).isEqualTo(1);
+        assertThat(first.get("roleName").asText()).isEqualTo("ADMIN");
+        assertThat(first.get("isDelete").asBoolean()).isFalse();
+        assertThat(first.get("createdAt").asText()).isEqualTo("2025-09-01T08:00:00");
+        assertThat(objectMapper.readTree(lines[1]).get("username").asText()).isEqualTo("=HYPERLINK(\"x\")");
+    }
+
+    @Test
+    void quotesCsvFieldsAndDefusesFormulas() throws Exception {
+        assertThat(export(UserFileFormat.CSV)).isEqualTo(
+                "id,roleName,username,email,isDelete,createdAt,updatedAt\r\n" +
+                "1,ADMIN,admin,admin@example.com,false,2025-09-01T08:00:00,2025-09-01T08:00:00\r\n" +
+                "2,STUDENT,\"'=HYPERLINK(\"\"x\"\")\",\"a,b@example.com\",false,2025-09-01T08:00:00,2025-09-01T08:00:00\r\n");
+    }
+
+    private String export(UserFileFormat format) throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        userExportService.export(false, format).writeTo(outputStream);
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+}
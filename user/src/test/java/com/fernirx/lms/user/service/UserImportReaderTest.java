@@ -0,0 +1,67 @@
+package com.fernirx.lms.user.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fernirx.lms.user.dto.UserImportRow;
+import com.fernirx.lms.user.dto.request.UserFileFormat;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserImportReaderTest {
+    private final UserImportReader reader = new UserImportReader(new ObjectMapper());
+
+    @Test
+    void readsCsvColumnsByHeaderNameWithQuotedFields() throws Exception {
+        String csv = "\uFEFFEmail,Username,roleId,password\r\n"
+                + "a@example.com,alice,3,Secret#123\r\n"
+                + "\"b,\"\"quoted\"\"@example.com\",bob,3,\"multi\nline\"\r\n"
+                + "\r\n"
+                + "c@example.com,carol,3\r\n"
+                + "d@example.com,dave,3,Secret#123";
+
+        List<UserImportRow> rows = read(csv, UserFileFormat.CSV);
+
+        assertThat(rows).hasSize(4);
+        assertThat(rows.get(0)).isEqualTo(new UserImportRow(2, "alice", "a@example.com", "Secret#123", "3", null));
+        assertThat(rows.get(1)).isEqualTo(
+                new UserImportRow(3, "bob", "b,\"quoted\"@example.com", "multi\nline", "3", null));
+        assertThat(rows.get(2).lineNumber()).isEqualTo(6);
+        assertThat(rows.get(2).error()).isEqualTo("Expected 4 fields but found 3");
+        assertThat(rows.get(3)).isEqualTo(new UserImportRow(7, "dave", "d@example.com", "Secret#123", "3", null));
+    }
+
+    @Test
+    void rejectsCsvHeaderWithoutRequiredColumn() {
+        assertThatThrownBy(() -> read("username,email,password\n", UserFileFormat.CSV))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("roleId");
+    }
+
+    @Test
+    void readsNdjsonAndReportsMalformedLines() throws Exception {
+        String ndjson = "{\"username\":\"alice\",\"email\":\"a@example.com\",\"password\":\"Secret#123\",\"roleId\":3}\n"
+                + "\n"
+                + "{not json\n"
+                + "[1,2]\n";
+
+        List<UserImportRow> rows = read(ndjson, UserFileFormat.NDJSON);
+
+        assertThat(rows).hasSize(3);
+        assertThat(rows.get(0)).isEqualTo(new UserImportRow(1, "alice", "a@example.com", "Secret#123", "3", null));
+        assertThat(rows.get(1).lineNumber()).isEqualTo(3);
+        assertThat(rows.get(1).error()).startsWith("Invalid JSON");
+        assertThat(rows.get(2).error()).isEqualTo("Expected a JSON object");
+    }
+
+    private List<UserImportRow> read(String content, UserFileFormat format) throws Exception {
+        List<UserImportRow> rows = new ArrayList<>();
+        reader.read(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), format, rows::add);
+        return rows;
+    }
+}
@@ -0,0 +1,95 @@
+package com.fernirx.lms.user.service;
+
+import com.fernirx.lms.infrastructure.properties.PaginationProperties;
+import com.fernirx.lms.infrastructure.properties.UserLookupCacheProperties;
+import com.fernirx.lms.user.dto.request.UserUpdateRequest;
+import com.fernirx.lms.user.dto.response.UserIdentity;
+import com.fernirx.lms.user.entity.User;
+import com.fernirx.lms.user.mapper.UserMapper;
+import com.fernirx.lms.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class UserServiceTest {
+    private static final long USER_ID = 7L;
+    private static final String NEW_EMAIL = "new@example.com";
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        userService = new UserService(userRepository, null, mock(UserMapper.class), null, null, null,
+                new PaginationProperties(), new UserLookupCacheProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void looksUpTheNormalizedEmailItCachesUnder() {
+        when(userRepository.findIdentityByEmail(any())).thenReturn(Optional.empty());
+
+        userService.getIdentityByEmailForReset(" Student@Example.com ");
+        userService.getIdentityByEmailForReset("student@example.com");
+
+        verify(userRepository).findIdentityByEmail("student@example.com");
+    }
+
+    @Test
+    void lookupRacingAnUncommittedEmailChangeIsDroppedOnCommit() {
+        User user = new User();
+        user.setId(USER_ID);
+        user.setUsername("student");
+        user.setEmail("old@example.com");
+        when(userRepository.findActiveById(USER_ID)).thenReturn(Optional.of(user));
+        when(userRepository.save(user)).thenReturn(user);
+        UserIdentity committed = new UserIdentity(USER_ID, "student", NEW_EMAIL);
+        when(userRepository.findIdentityByEmail(NEW_EMAIL)).thenReturn(Optional.empty(), Optional.of(committed));
+
+        TransactionSynchronizationManager.initSynchronization();
+        userService.updateUser(USER_ID, new UserUpdateRequest(null, "student", NEW_EMAIL));
+        // A forgot-password request reads the row before the update commits and caches the miss
+        assertThat(userService.getIdentityByEmailForReset(NEW_EMAIL)).isEmpty();
+        commit();
+
+        assertThat(userService.getIdentityByEmailForReset(NEW_EMAIL)).contains(committed);
+    }
+
+    @Test
+    void importedEmailsAreLookedUpAgain() {
+        UserIdentity imported = new UserIdentity(USER_ID, "student", NEW_EMAIL);
+        when(userRepository.findIdentityByEmail(NEW_EMAIL)).thenReturn(Optional.empty(), Optional.of(imported));
+        assertThat(userService.getIdentityByEmailForReset(NEW_EMAIL)).isEmpty();
+
+        userService.evictIdentities(List.of("New@Example.com"));
+
+        assertThat(userService.getIdentityByEmailForReset(NEW_EMAIL)).contains(imported);
+    }
+
+    private static void commit() {
+        try {
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+            TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations,
+                    TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}